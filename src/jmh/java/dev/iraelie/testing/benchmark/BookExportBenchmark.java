@@ -0,0 +1,79 @@
+package dev.iraelie.testing.benchmark;
+
+import dev.iraelie.testing.service.BookExportService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full catalog export into a discarding stream. The {@code bytes} counter is reported as a rate,
+ * i.e. bytes/s of (compressed, when {@code gzip=true}) output; divide by 10^6 for MB/s. Run with
+ * {@code -p books=100000} or smaller to get several exports per iteration.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BookExportBenchmark {
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Output {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.bytes = 0;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Export {
+        @Param({"false", "true"})
+        public boolean gzip;
+
+        private BookExportService exportService;
+
+        @Setup(Level.Trial)
+        public void setUp(CatalogState state) {
+            this.exportService = state.getBean(BookExportService.class);
+        }
+    }
+
+    @Benchmark
+    public long exportNdjson(Export export, Output output) throws IOException {
+        CountingSink sink = new CountingSink();
+        long books = export.exportService.exportNdjson(sink, export.gzip);
+        output.bytes += sink.count;
+        return books;
+    }
+
+    private static final class CountingSink extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
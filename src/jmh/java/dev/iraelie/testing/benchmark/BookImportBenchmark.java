@@ -0,0 +1,51 @@
+package dev.iraelie.testing.benchmark;
+
+import dev.iraelie.testing.dtos.CreateBookRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second for the batched {@code createBooks} import versus calling {@code createBook}
+ * once per row. Each invocation inserts {@value #ROWS} books, reported as {@value #ROWS} operations.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(BookImportBenchmark.ROWS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BookImportBenchmark {
+
+    static final int ROWS = 1_000;
+
+    @Benchmark
+    public List<Long> createBooks(CatalogState state) {
+        return state.bookService.createBooks(requests(state));
+    }
+
+    @Benchmark
+    public void createBookPerRow(CatalogState state, Blackhole blackhole) {
+        for (CreateBookRequest request : requests(state)) {
+            blackhole.consume(state.bookService.createBook(request));
+        }
+    }
+
+    private static List<CreateBookRequest> requests(CatalogState state) {
+        List<CreateBookRequest> requests = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            requests.add(state.newBookRequest());
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,110 @@
+package dev.iraelie.testing.benchmark;
+
+import dev.iraelie.testing.dtos.AuthorDTO;
+import dev.iraelie.testing.dtos.BookDTO;
+import dev.iraelie.testing.mapper.BookMapper;
+import dev.iraelie.testing.model.Author;
+import dev.iraelie.testing.model.Book;
+import dev.iraelie.testing.model.BookGenre;
+import dev.iraelie.testing.model.Publisher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pure mapping cost on detached entities, isolated from the database. Run with {@code -prof gc}
+ * and compare {@code gc.alloc.rate.norm} (bytes/op) of {@code toBookDTO} against
+ * {@code toBookDTOViaBuilder}, which keeps the former builder-plus-concatenation mapping as a baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BookMapperBenchmark {
+
+    @Param("100")
+    public int booksPerAuthor;
+
+    private final BookMapper bookMapper = new BookMapper();
+    private Author author;
+    private Book book;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Publisher publisher = Publisher.builder()
+                .id(1L)
+                .name("Publisher 1")
+                .books(new ArrayList<>())
+                .build();
+        this.author = Author.builder()
+                .id(1L)
+                .firstName("First1")
+                .lastName("Last1")
+                .email("author1@example.com")
+                .country("Country1")
+                .books(new ArrayList<>())
+                .build();
+        for (int i = 1; i <= this.booksPerAuthor; i++) {
+            Book current = Book.builder()
+                    .id((long) i)
+                    .title("Title " + i)
+                    .isbn(CatalogSeeder.isbn(i))
+                    .publicationYear(2000 + i % 25)
+                    .availableCopies(i % 20)
+                    .price(9.99)
+                    .genre(BookGenre.FICTION)
+                    .publisher(publisher)
+                    .build();
+            this.author.addBook(current);
+        }
+        this.book = this.author.getBooks().getFirst();
+    }
+
+    @Benchmark
+    public BookDTO toBookDTO() {
+        return this.bookMapper.toBookDTO(this.book);
+    }
+
+    @Benchmark
+    public BookDTO toBookDTOViaBuilder() {
+        return BookDTO.builder()
+                .id(this.book.getId())
+                .title(this.book.getTitle())
+                .isbn(this.book.getIsbn())
+                .publicationYear(this.book.getPublicationYear())
+                .availableCopies(this.book.getAvailableCopies())
+                .price(this.book.getPrice())
+                .genre(this.book.getGenre())
+                .authorName(this.book.getAuthor().getFirstName() + " " + this.book.getAuthor().getLastName())
+                .publisherName(this.book.getPublisher().getName())
+                .build();
+    }
+
+    // A list endpoint: every book of one author
+    @Benchmark
+    public void toBookDTOs(Blackhole blackhole) {
+        for (Book current : this.author.getBooks()) {
+            blackhole.consume(this.bookMapper.toBookDTO(current));
+        }
+    }
+
+    @Benchmark
+    public AuthorDTO toAuthorDTO() {
+        return this.bookMapper.toAuthorDTO(this.author);
+    }
+}
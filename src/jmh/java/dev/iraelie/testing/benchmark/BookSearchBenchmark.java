@@ -0,0 +1,78 @@
+package dev.iraelie.testing.benchmark;
+
+import dev.iraelie.testing.dtos.BookDTO;
+import dev.iraelie.testing.dtos.BookSearchRequest;
+import dev.iraelie.testing.model.BookGenre;
+import dev.iraelie.testing.search.BookSearchIndex;
+import dev.iraelie.testing.search.InMemoryBookSearchIndex;
+import dev.iraelie.testing.service.BookSearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency over the seeded catalog; read the p0.95 line of the SampleTime output.
+ * Seeded titles are "Title n" and authors "Firstn Lastn", so a title number is a selective
+ * term and an author-name prefix fans out to many books.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BookSearchBenchmark {
+
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 20);
+
+    private BookSearchService searchService;
+
+    @Setup(Level.Trial)
+    public void setUp(CatalogState state) {
+        this.searchService = state.getBean(BookSearchService.class);
+        // The catalog is seeded through JDBC after startup, so the in-memory index has to be rebuilt
+        if (state.getBean(BookSearchIndex.class) instanceof InMemoryBookSearchIndex index) {
+            index.warmUp();
+        }
+    }
+
+    @Benchmark
+    public Slice<BookDTO> searchTitle(CatalogState state) {
+        BookSearchRequest request = BookSearchRequest.builder()
+                .text("title " + state.randomBookId())
+                .build();
+        return searchService.search(request, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Slice<BookDTO> searchAuthorWithFilters(CatalogState state) {
+        BookSearchRequest request = BookSearchRequest.builder()
+                .text("last" + state.randomAuthorId())
+                .genre(BookGenre.SCIENCE)
+                .minYear(1980)
+                .maxPrice(50.0)
+                .build();
+        return searchService.search(request, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Slice<BookDTO> autocompleteAuthor() {
+        BookSearchRequest request = BookSearchRequest.builder()
+                .text("first" + (ThreadLocalRandom.current().nextInt(9) + 1) + ThreadLocalRandom.current().nextInt(10))
+                .build();
+        return searchService.autocomplete(request, FIRST_PAGE);
+    }
+}
@@ -0,0 +1,49 @@
+package dev.iraelie.testing.benchmark;
+
+import dev.iraelie.testing.dtos.AuthorDTO;
+import dev.iraelie.testing.dtos.BookDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@code BookService} paths against the seeded catalog. Throughput gives ops/ms,
+ * SampleTime gives the p99 latency, and {@code -prof gc} adds allocation per operation.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BookServiceBenchmark {
+
+    @Benchmark
+    public Long createBook(CatalogState state) {
+        return state.bookService.createBook(state.newBookRequest());
+    }
+
+    @Benchmark
+    public BookDTO getBookById(CatalogState state) {
+        long id = state.randomBookId();
+        return state.inReadOnlyTransaction(() -> state.bookService.getBookById(id));
+    }
+
+    @Benchmark
+    public List<BookDTO> getBooksByAuthor(CatalogState state) {
+        long authorId = state.randomAuthorId();
+        return state.inReadOnlyTransaction(() -> state.bookService.getBooksByAuthor(authorId));
+    }
+
+    @Benchmark
+    public AuthorDTO getAuthorWithBooks(CatalogState state) {
+        long authorId = state.randomAuthorId();
+        return state.inReadOnlyTransaction(() -> state.bookService.getAuthorWithBooks(authorId));
+    }
+}
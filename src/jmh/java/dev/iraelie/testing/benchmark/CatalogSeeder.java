@@ -0,0 +1,75 @@
+package dev.iraelie.testing.benchmark;
+
+import dev.iraelie.testing.model.BookGenre;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk-loads a synthetic catalog straight through JDBC so that seeding a million rows
+ * does not dominate the trial setup time.
+ */
+final class CatalogSeeder {
+
+    static final int PUBLISHERS = 500;
+    private static final int BATCH_SIZE = 5_000;
+    private static final BookGenre[] GENRES = BookGenre.values();
+
+    private CatalogSeeder() {
+    }
+
+    static void seed(JdbcTemplate jdbc, int authors, int books) {
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (long i = 1; i <= PUBLISHERS; i++) {
+            rows.add(new Object[]{i, "Publisher " + i, "Street " + i, "https://publisher" + i + ".example"});
+        }
+        jdbc.batchUpdate("INSERT INTO publisher (id, name, address, website) VALUES (?, ?, ?, ?)", rows);
+
+        rows.clear();
+        String insertAuthor = "INSERT INTO author (id, first_name, last_name, email, country) VALUES (?, ?, ?, ?, ?)";
+        for (long i = 1; i <= authors; i++) {
+            rows.add(new Object[]{i, "First" + i, "Last" + i, "author" + i + "@example.com", "Country" + (i % 50)});
+            if (rows.size() == BATCH_SIZE) {
+                jdbc.batchUpdate(insertAuthor, rows);
+                rows.clear();
+            }
+        }
+        jdbc.batchUpdate(insertAuthor, rows);
+
+        rows.clear();
+        String insertBook = "INSERT INTO book (id, title, isbn, publication_year, available_copies, price, genre, author_id, publisher_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        for (long i = 1; i <= books; i++) {
+            rows.add(new Object[]{
+                    i,
+                    "Title " + i,
+                    isbn(i),
+                    1950 + (int) (i % 75),
+                    (int) (i % 20),
+                    5.0 + (i % 9500) / 100.0,
+                    GENRES[(int) (i % GENRES.length)].name(),
+                    i % authors + 1,
+                    i % PUBLISHERS + 1
+            });
+            if (rows.size() == BATCH_SIZE) {
+                jdbc.batchUpdate(insertBook, rows);
+                rows.clear();
+            }
+        }
+        jdbc.batchUpdate(insertBook, rows);
+
+        // Ids were assigned explicitly; move the pooled sequences past them (plus one allocation block)
+        restartSequence(jdbc, "publisher_seq", PUBLISHERS);
+        restartSequence(jdbc, "author_seq", authors);
+        restartSequence(jdbc, "book_seq", books);
+    }
+
+    private static void restartSequence(JdbcTemplate jdbc, String sequence, long lastId) {
+        jdbc.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (lastId + 100));
+    }
+
+    static String isbn(long sequence) {
+        return String.format("978%010d", sequence);
+    }
+}
@@ -0,0 +1,103 @@
+package dev.iraelie.testing.benchmark;
+
+import dev.iraelie.testing.TestingApplication;
+import dev.iraelie.testing.dtos.CreateBookRequest;
+import dev.iraelie.testing.model.BookGenre;
+import dev.iraelie.testing.service.BookService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Boots the application against an in-memory H2 database (profile {@code benchmark})
+ * and seeds it once per trial.
+ */
+@State(Scope.Benchmark)
+public class CatalogState {
+
+    @Param("10000")
+    public int authors;
+
+    @Param("1000000")
+    public int books;
+
+    public BookService bookService;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnlyTransaction;
+    private final AtomicLong isbnSequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.context = new SpringApplicationBuilder(TestingApplication.class)
+                .profiles("benchmark")
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run();
+        this.bookService = this.context.getBean(BookService.class);
+        this.readOnlyTransaction = new TransactionTemplate(this.context.getBean(PlatformTransactionManager.class));
+        this.readOnlyTransaction.setReadOnly(true);
+
+        CatalogSeeder.seed(this.context.getBean(JdbcTemplate.class), this.authors, this.books);
+        this.isbnSequence.set(this.books);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return this.context.getBean(type);
+    }
+
+    /**
+     * Runs a read inside a read-only transaction, the way an open-session-in-view web request
+     * would, so lazy associations touched by the mapper are part of the measurement.
+     */
+    public <T> T inReadOnlyTransaction(Supplier<T> read) {
+        return this.readOnlyTransaction.execute(status -> read.get());
+    }
+
+    public long randomBookId() {
+        return ThreadLocalRandom.current().nextLong(this.books) + 1;
+    }
+
+    public long randomAuthorId() {
+        return ThreadLocalRandom.current().nextLong(this.authors) + 1;
+    }
+
+    public long randomPublisherId() {
+        return ThreadLocalRandom.current().nextLong(CatalogSeeder.PUBLISHERS) + 1;
+    }
+
+    public String nextIsbn() {
+        return CatalogSeeder.isbn(this.isbnSequence.incrementAndGet());
+    }
+
+    public CreateBookRequest newBookRequest() {
+        return CreateBookRequest.builder()
+                .title("Benchmark title")
+                .isbn(nextIsbn())
+                .publicationYear(2026)
+                .availableCopies(10)
+                .price(19.99)
+                .genre(BookGenre.SCIENCE)
+                .authorId(randomAuthorId())
+                .publisherId(randomPublisherId())
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package dev.iraelie.testing.benchmark;
+
+import dev.iraelie.testing.dtos.ErrorResponse;
+import dev.iraelie.testing.exception.BusinessException;
+import dev.iraelie.testing.exception.ErrorCode;
+import dev.iraelie.testing.exception.GlobalExceptionHandler;
+import dev.iraelie.testing.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a miss (throw, catch, build the error response) for the former eager exceptions
+ * against the stackless, lazily formatted ones. Stack capture cost grows with depth, and a request
+ * through Tomcat, the security chain and Spring MVC is well over 100 frames deep, so {@code depth}
+ * simulates the frames between the handler and the throw.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExceptionMissPathBenchmark {
+
+    @Param({"20", "150"})
+    public int depth;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Benchmark
+    public Object eagerNotFound() {
+        try {
+            return throwAt(depth, () -> new EagerNotFoundException("Book not found with id: " + randomId()));
+        } catch (EagerNotFoundException e) {
+            return ResponseEntity.status(ErrorCode.RESOURCE_NOT_FOUND.getStatus())
+                    .body(new ErrorResponse(ErrorCode.RESOURCE_NOT_FOUND.getCode(), e.getMessage()));
+        }
+    }
+
+    @Benchmark
+    public Object stacklessNotFound() {
+        try {
+            return throwAt(depth, () -> new ResourceNotFoundException("Book", randomId()));
+        } catch (ResourceNotFoundException e) {
+            return handler.handleResourceNotFound(e);
+        }
+    }
+
+    @Benchmark
+    public Object eagerBusinessException() {
+        try {
+            return throwAt(depth, () -> new EagerBusinessException(String.format(ErrorCode.INVALID_QUANTITY.getDefaultMessage())));
+        } catch (EagerBusinessException e) {
+            return ResponseEntity.status(ErrorCode.INVALID_QUANTITY.getStatus())
+                    .body(new ErrorResponse(ErrorCode.INVALID_QUANTITY.getCode(), e.getMessage()));
+        }
+    }
+
+    @Benchmark
+    public Object stacklessBusinessException() {
+        try {
+            return throwAt(depth, () -> new BusinessException(ErrorCode.INVALID_QUANTITY));
+        } catch (BusinessException e) {
+            return handler.handleBusinessException(e);
+        }
+    }
+
+    private static Object throwAt(int depth, ExceptionFactory factory) {
+        if (depth == 0) {
+            throw factory.create();
+        }
+        return throwAt(depth - 1, factory);
+    }
+
+    private static long randomId() {
+        return ThreadLocalRandom.current().nextLong(1_000_000);
+    }
+
+    @FunctionalInterface
+    private interface ExceptionFactory {
+        RuntimeException create();
+    }
+
+    // The previous shape: message concatenated up front, full stack trace captured
+    private static final class EagerNotFoundException extends RuntimeException {
+        private EagerNotFoundException(String message) {
+            super(message);
+        }
+    }
+
+    private static final class EagerBusinessException extends RuntimeException {
+        private EagerBusinessException(String message) {
+            super(message);
+        }
+    }
+}
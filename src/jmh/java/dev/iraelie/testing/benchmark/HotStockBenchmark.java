@@ -0,0 +1,57 @@
+package dev.iraelie.testing.benchmark;
+
+import dev.iraelie.testing.inventory.StripedStockCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contended reserve+release on a single title: striped counter versus one CAS'd AtomicLong,
+ * the in-memory equivalent of every reservation hitting the same row. Re-run with
+ * {@code -t 1}, {@code -t 2}, ... {@code -t <cores>} to see how each scales.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Threads(Threads.MAX)
+@Fork(1)
+public class HotStockBenchmark {
+
+    private static final long STOCK = 1_000_000_000L;
+
+    private final StripedStockCounter striped = new StripedStockCounter(STOCK);
+    private final AtomicLong single = new AtomicLong(STOCK);
+
+    @Benchmark
+    public boolean striped() {
+        boolean acquired = striped.tryAcquire(1);
+        striped.release(1);
+        return acquired;
+    }
+
+    @Benchmark
+    public boolean singleAtomic() {
+        long available;
+        boolean acquired = false;
+        while ((available = single.get()) >= 1) {
+            if (single.compareAndSet(available, available - 1)) {
+                acquired = true;
+                break;
+            }
+        }
+        single.incrementAndGet();
+        return acquired;
+    }
+}
@@ -0,0 +1,89 @@
+package dev.iraelie.testing.benchmark;
+
+import dev.iraelie.testing.metrics.StatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the production instrumentation, in ns/op next to an uninstrumented baseline:
+ * the {@code books.service} timer as configured on {@code BookService} (histogram plus p50/p95/p99),
+ * one statement inspection, and the per-request statement summary including its meter lookup.
+ * A {@code getBookById} cache hit takes microseconds, so anything here in the tens of nanoseconds
+ * is noise; run with {@code -t 1} and {@code -t <cores>} to see contention on the shared meters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Threads(Threads.MAX)
+@Fork(1)
+public class InstrumentationOverheadBenchmark {
+
+    private final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    private final StatementCounter statementCounter = new StatementCounter();
+    private Timer timer;
+
+    @Setup
+    public void setup() {
+        timer = Timer.builder("books.service")
+                .tag("class", "BookService")
+                .tag("method", "getBookById")
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    @Benchmark
+    public long baseline() {
+        return work();
+    }
+
+    @Benchmark
+    public long timed() {
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            return work();
+        } finally {
+            sample.stop(timer);
+        }
+    }
+
+    @Benchmark
+    public String inspectStatement() {
+        return statementCounter.inspect("select b1_0.id from book b1_0 where b1_0.id=?");
+    }
+
+    @Benchmark
+    public long recordRequestStatements() {
+        long statements = work();
+        DistributionSummary.builder("http.server.requests.jdbc.statements")
+                .baseUnit("statements")
+                .tag("method", "GET")
+                .tag("uri", "/api/v1/books/{id}")
+                .serviceLevelObjectives(1, 2, 5, 10, 20, 50, 100, 500)
+                .register(registry)
+                .record(statements);
+        return statements;
+    }
+
+    // Stand-in for the instrumented call so the JIT cannot fold the baseline away
+    private static long work() {
+        return System.nanoTime() & 7;
+    }
+}
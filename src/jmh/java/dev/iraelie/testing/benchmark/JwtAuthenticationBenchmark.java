@@ -0,0 +1,96 @@
+package dev.iraelie.testing.benchmark;
+
+import dev.iraelie.testing.security.JwtAuthenticationFilter;
+import dev.iraelie.testing.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authentication cost per request over a pool of live tokens: {@code parseEveryTime} is the
+ * uncached baseline (HMAC check plus JSON parsing), {@code verifyCached} the lookup served by
+ * {@link JwtService}, and {@code filter} the whole {@link JwtAuthenticationFilter} pass including
+ * the security context. Compare {@code gc.alloc.rate.norm} with {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET_KEY = "uz1XVQwqqpoKgo4lfv+UwQxHi3PU/MQKRulNzy3u2QI=";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param("1000")
+    public int activeTokens;
+
+    private JwtService jwtService;
+    private JwtParser uncachedParser;
+    private JwtAuthenticationFilter filter;
+    private String[] tokens;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET_KEY, Duration.ofHours(1), 100_000);
+        uncachedParser = Jwts.parser().verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY))).build();
+        filter = new JwtAuthenticationFilter(jwtService);
+        tokens = new String[activeTokens];
+        for (int i = 0; i < activeTokens; i++) {
+            tokens[i] = jwtService.generateToken(User.withUsername("user" + i + "@example.com")
+                    .password("secret")
+                    .authorities("ROLE_USER")
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public Claims parseEveryTime() {
+        return uncachedParser.parseSignedClaims(randomToken()).getPayload();
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken verifyCached() {
+        return jwtService.verify(randomToken());
+    }
+
+    @Benchmark
+    public Object filter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/books/export");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + randomToken());
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private String randomToken() {
+        return tokens[ThreadLocalRandom.current().nextInt(tokens.length)];
+    }
+}
@@ -0,0 +1,77 @@
+package dev.iraelie.testing.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test for BookService reads: {@value #REQUESTS} concurrent getBookById calls per invocation,
+ * run on a fixed platform-thread pool (Tomcat's default of 200) versus one virtual thread per
+ * request. Both go through the permit-limited DataSource, so the database sees the same bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(ThreadModelBenchmark.REQUESTS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ThreadModelBenchmark {
+
+    static final int REQUESTS = 2_000;
+    private static final int PLATFORM_THREADS = 200;
+
+    private ExecutorService platformThreads;
+    private ExecutorService virtualThreads;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.platformThreads = Executors.newFixedThreadPool(PLATFORM_THREADS);
+        this.virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.platformThreads.close();
+        this.virtualThreads.close();
+    }
+
+    @Benchmark
+    public int platformThreads(CatalogState state) throws Exception {
+        return run(this.platformThreads, state);
+    }
+
+    @Benchmark
+    public int virtualThreads(CatalogState state) throws Exception {
+        return run(this.virtualThreads, state);
+    }
+
+    private static int run(ExecutorService executor, CatalogState state) throws Exception {
+        List<Future<?>> calls = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            long id = state.randomBookId();
+            calls.add(executor.submit(() -> state.inReadOnlyTransaction(() -> state.bookService.getBookById(id))));
+        }
+        for (Future<?> call : calls) {
+            call.get();
+        }
+        return calls.size();
+    }
+}
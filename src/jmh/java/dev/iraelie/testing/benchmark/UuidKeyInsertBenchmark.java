@@ -0,0 +1,129 @@
+package dev.iraelie.testing.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput into a primary-key index that already holds {@code preloadedRows} keys, for
+ * the former random string ids, random native UUIDs and time-ordered UUIDv7. Random keys land on
+ * any leaf page and split it, so once the index outgrows memory every insert is a page read;
+ * UUIDv7 keys append to the rightmost leaf.
+ * <p>
+ * The default runs on in-memory H2. The locality effect needs an index larger than the buffer
+ * cache, so the meaningful run is against PostgreSQL at 10M rows:
+ * {@code -Djmh.args="UuidKeyInsertBenchmark -p preloadedRows=10000000 -jvmArgsAppend -Dbenchmark.jdbc.url=jdbc:postgresql://localhost/bench?user=bench&password=bench&reWriteBatchedInserts=true"};
+ * the teardown then prints the index size per key type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class UuidKeyInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    public enum KeyType {
+        RANDOM_TEXT("VARCHAR(36)"),
+        RANDOM_UUID("UUID"),
+        TIME_ORDERED_UUID("UUID");
+
+        private final String columnType;
+
+        KeyType(String columnType) {
+            this.columnType = columnType;
+        }
+
+        Object next() {
+            return switch (this) {
+                case RANDOM_TEXT -> UUID.randomUUID().toString();
+                case RANDOM_UUID -> UUID.randomUUID();
+                case TIME_ORDERED_UUID -> uuidV7();
+            };
+        }
+    }
+
+    @Param
+    public KeyType keyType;
+
+    @Param("1000000")
+    public int preloadedRows;
+
+    private Connection connection;
+    private PreparedStatement insert;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:uuid_keys;DB_CLOSE_DELAY=-1"));
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS uuid_key_insert");
+            statement.execute("CREATE TABLE uuid_key_insert (id " + keyType.columnType + " PRIMARY KEY, payload VARCHAR(64) NOT NULL)");
+        }
+        connection.commit();
+        insert = connection.prepareStatement("INSERT INTO uuid_key_insert (id, payload) VALUES (?, ?)");
+        for (int loaded = 0; loaded < preloadedRows; loaded += BATCH_SIZE) {
+            insertBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        if (connection.getMetaData().getURL().startsWith("jdbc:postgresql:")) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet size = statement.executeQuery("SELECT pg_size_pretty(pg_relation_size('uuid_key_insert_pkey'))")) {
+                size.next();
+                System.out.println(keyType + " primary key index: " + size.getString(1));
+            }
+        }
+        insert.close();
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertRows() throws SQLException {
+        insertBatch();
+    }
+
+    private void insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, keyType.next());
+            insert.setString(2, "payload");
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    // RFC 9562 layout: 48-bit Unix milliseconds, version 7, then random bits, as Hibernate's VERSION_7 style produces
+    private static UUID uuidV7() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSignificant = (System.currentTimeMillis() << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+        long leastSignificant = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+}
@@ -0,0 +1,64 @@
+package dev.iraelie.testing.cache;
+
+import dev.iraelie.testing.event.AuthorDeletedEvent;
+import dev.iraelie.testing.event.BookCreatedEvent;
+import dev.iraelie.testing.event.BookDeletedEvent;
+import dev.iraelie.testing.event.BookUpdatedEvent;
+import dev.iraelie.testing.event.BooksDeletedEvent;
+import dev.iraelie.testing.event.BooksImportedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts cached DTOs once the writing transaction has committed, so a rolled-back write
+ * never drops (or lets a reader repopulate) an entry with state that did not persist.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookCacheEvictionListener {
+
+    private final CacheManager cacheManager;
+
+    // A new book changes its author's totalBooks
+    @TransactionalEventListener
+    public void onBookCreated(BookCreatedEvent event) {
+        evict(CacheNames.AUTHORS, event.authorId());
+    }
+
+    @TransactionalEventListener
+    public void onBooksImported(BooksImportedEvent event) {
+        event.authorIds().forEach(authorId -> evict(CacheNames.AUTHORS, authorId));
+    }
+
+    @TransactionalEventListener
+    public void onBookUpdated(BookUpdatedEvent event) {
+        evict(CacheNames.BOOKS, event.bookId());
+    }
+
+    @TransactionalEventListener
+    public void onBookDeleted(BookDeletedEvent event) {
+        evict(CacheNames.BOOKS, event.bookId());
+        evict(CacheNames.AUTHORS, event.authorId());
+    }
+
+    @TransactionalEventListener
+    public void onBooksDeleted(BooksDeletedEvent event) {
+        event.bookIds().forEach(bookId -> evict(CacheNames.BOOKS, bookId));
+        event.authorIds().forEach(authorId -> evict(CacheNames.AUTHORS, authorId));
+    }
+
+    @TransactionalEventListener
+    public void onAuthorDeleted(AuthorDeletedEvent event) {
+        evict(CacheNames.AUTHORS, event.authorId());
+    }
+
+    private void evict(String cacheName, Long key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+}
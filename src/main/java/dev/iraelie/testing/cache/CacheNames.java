@@ -0,0 +1,10 @@
+package dev.iraelie.testing.cache;
+
+public final class CacheNames {
+
+    public static final String BOOKS = "books";
+    public static final String AUTHORS = "authors";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,171 @@
+package dev.iraelie.testing.cache;
+
+import dev.iraelie.testing.event.BookCreatedEvent;
+import dev.iraelie.testing.event.BookDeletedEvent;
+import dev.iraelie.testing.event.BooksDeletedEvent;
+import dev.iraelie.testing.event.BooksImportedEvent;
+import dev.iraelie.testing.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Counting Bloom filter over every ISBN in the catalog, used to skip the existence query for
+ * ISBNs that are certainly new. Counters are 4 bits wide, packed sixteen to a long and updated
+ * with CAS, so deletes can be applied as well; a counter that saturates is never decremented.
+ * <p>
+ * The unique constraint on {@code book.isbn} stays the source of truth: a rare false negative
+ * (e.g. a delete racing the startup warm-up) surfaces as a constraint violation instead.
+ */
+@Slf4j
+@Component
+public class IsbnBloomFilter {
+
+    private static final long COUNTER_MASK = 0xFL;
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AtomicLongArray counters;
+    private final int size;
+    private final int hashFunctions;
+    private volatile boolean ready;
+
+    public IsbnBloomFilter(BookRepository bookRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.books.isbn-filter.expected-insertions:2000000}") long expectedInsertions,
+                           @Value("${app.books.isbn-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.bookRepository = bookRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.size = (int) Math.min(bits, Integer.MAX_VALUE - 15L);
+        this.hashFunctions = Math.max(1, (int) Math.round((double) this.size / expectedInsertions * Math.log(2)));
+        this.counters = new AtomicLongArray((this.size + 15) / 16);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.nanoTime();
+        Long loaded = readOnlyTransaction.execute(status -> {
+            long count = 0;
+            try (Stream<String> isbns = bookRepository.streamAllIsbns()) {
+                for (Iterator<String> iterator = isbns.iterator(); iterator.hasNext(); count++) {
+                    add(iterator.next());
+                }
+            }
+            return count;
+        });
+        this.ready = true;
+        log.info("ISBN filter warmed with {} entries in {} ms", loaded, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @return {@code false} only when the ISBN is certainly not in the catalog
+     */
+    public boolean mightContain(String isbn) {
+        if (!ready || isbn == null) {
+            return true;
+        }
+        long hash = hash(isbn);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            if (counter(index(h1, h2, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void add(String isbn) {
+        if (isbn == null) {
+            return;
+        }
+        long hash = hash(isbn);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            update(index(h1, h2, i), 1);
+        }
+    }
+
+    public void remove(String isbn) {
+        if (isbn == null) {
+            return;
+        }
+        long hash = hash(isbn);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            update(index(h1, h2, i), -1);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBookCreated(BookCreatedEvent event) {
+        add(event.isbn());
+    }
+
+    @TransactionalEventListener
+    public void onBooksImported(BooksImportedEvent event) {
+        event.isbns().forEach(this::add);
+    }
+
+    @TransactionalEventListener
+    public void onBookDeleted(BookDeletedEvent event) {
+        remove(event.isbn());
+    }
+
+    @TransactionalEventListener
+    public void onBooksDeleted(BooksDeletedEvent event) {
+        event.isbns().forEach(this::remove);
+    }
+
+    private int index(int h1, int h2, int i) {
+        int combined = h1 + i * h2;
+        return (combined & Integer.MAX_VALUE) % size;
+    }
+
+    private long counter(int index) {
+        return (counters.get(index >>> 4) >>> ((index & 15) << 2)) & COUNTER_MASK;
+    }
+
+    private void update(int index, int delta) {
+        int slot = index >>> 4;
+        int shift = (index & 15) << 2;
+        while (true) {
+            long current = counters.get(slot);
+            long value = (current >>> shift) & COUNTER_MASK;
+            // Saturated counters are sticky; empty counters cannot go below zero
+            if (value == COUNTER_MASK || (delta < 0 && value == 0)) {
+                return;
+            }
+            long updated = delta > 0 ? current + (1L << shift) : current - (1L << shift);
+            if (counters.compareAndSet(slot, current, updated)) {
+                return;
+            }
+        }
+    }
+
+    // FNV-1a over the characters, finished with the SplitMix64 mixer for well-spread high and low halves
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
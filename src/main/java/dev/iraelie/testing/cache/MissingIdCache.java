@@ -0,0 +1,74 @@
+package dev.iraelie.testing.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Short-lived record of book and author ids that were looked up and did not exist, so bots
+ * probing random ids are answered without a database round trip. Entries are dropped as soon
+ * as an id is assigned ({@link MissingIdInvalidator}); the TTL bounds anything else, e.g. a miss
+ * recorded by a reader racing the inserting transaction.
+ * <p>
+ * Negative hits are exported as {@code cache.gets{cache="missing-books"|"missing-authors",result="hit"}}.
+ */
+@Component
+public class MissingIdCache {
+
+    private final Cache<Long, Boolean> missingBooks;
+    private final Cache<Long, Boolean> missingAuthors;
+
+    public MissingIdCache(MeterRegistry meterRegistry,
+                          @Value("${app.books.missing-ids.ttl:PT30S}") Duration ttl,
+                          @Value("${app.books.missing-ids.maximum-size:100000}") long maximumSize) {
+        this.missingBooks = build(ttl, maximumSize);
+        this.missingAuthors = build(ttl, maximumSize);
+        CaffeineCacheMetrics.monitor(meterRegistry, missingBooks, "missing-books");
+        CaffeineCacheMetrics.monitor(meterRegistry, missingAuthors, "missing-authors");
+    }
+
+    public boolean isBookMissing(Long id) {
+        return id != null && missingBooks.getIfPresent(id) != null;
+    }
+
+    public void markBookMissing(Long id) {
+        if (id != null) {
+            missingBooks.put(id, Boolean.TRUE);
+        }
+    }
+
+    public void forgetBook(Long id) {
+        if (id != null) {
+            missingBooks.invalidate(id);
+        }
+    }
+
+    public boolean isAuthorMissing(Long id) {
+        return id != null && missingAuthors.getIfPresent(id) != null;
+    }
+
+    public void markAuthorMissing(Long id) {
+        if (id != null) {
+            missingAuthors.put(id, Boolean.TRUE);
+        }
+    }
+
+    public void forgetAuthor(Long id) {
+        if (id != null) {
+            missingAuthors.invalidate(id);
+        }
+    }
+
+    private static Cache<Long, Boolean> build(Duration ttl, long maximumSize) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package dev.iraelie.testing.cache;
+
+import dev.iraelie.testing.model.Author;
+import dev.iraelie.testing.model.Book;
+import jakarta.persistence.PostPersist;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener on {@link Book} and {@link Author} that removes a freshly assigned id from the
+ * {@link MissingIdCache}, covering createBook, bulk imports and author creation alike. The id is
+ * forgotten at insert and again after completion, since a reader can still miss the row (and
+ * record it) until the inserting transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class MissingIdInvalidator {
+
+    private final MissingIdCache missingIdCache;
+
+    @PostPersist
+    public void onPersisted(Object entity) {
+        Runnable forget = switch (entity) {
+            case Book book -> () -> missingIdCache.forgetBook(book.getId());
+            case Author author -> () -> missingIdCache.forgetAuthor(author.getId());
+            default -> null;
+        };
+        if (forget == null) {
+            return;
+        }
+        forget.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    forget.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package dev.iraelie.testing.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DataSourceConfig {
+
+    // Fronts the pooled DataSource with a permit limit once app.datasource.max-concurrent-connections is set
+    @Bean
+    @ConditionalOnProperty("app.datasource.max-concurrent-connections")
+    static BeanPostProcessor boundedDataSourcePostProcessor(Environment environment) {
+        int maxConcurrentConnections = environment.getRequiredProperty("app.datasource.max-concurrent-connections", Integer.class);
+        long permitTimeoutMillis = environment.getProperty("app.datasource.permit-timeout-ms", Long.class, 5_000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BoundedDataSource)) {
+                    return new BoundedDataSource(dataSource, maxConcurrentConnections, permitTimeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
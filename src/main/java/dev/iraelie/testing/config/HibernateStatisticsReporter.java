@@ -0,0 +1,42 @@
+package dev.iraelie.testing.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs second-level and query cache hit rates so cache effectiveness can be verified in production.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HibernateStatisticsReporter {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Scheduled(fixedDelayString = "${app.hibernate.statistics-log-interval-ms:300000}")
+    public void report() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+        log.info("Second-level cache: {} hits, {} misses, {} puts; query cache: {} hits, {} misses",
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount(),
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount());
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                log.info("Region {}: {} hits, {} misses, {} elements in memory",
+                        regionName, region.getHitCount(), region.getMissCount(), region.getElementCountInMemory());
+            }
+        }
+    }
+}
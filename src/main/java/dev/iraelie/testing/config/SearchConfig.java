@@ -0,0 +1,48 @@
+package dev.iraelie.testing.config;
+
+import dev.iraelie.testing.repository.BookRepository;
+import dev.iraelie.testing.search.BookSearchIndex;
+import dev.iraelie.testing.search.InMemoryBookSearchIndex;
+import dev.iraelie.testing.search.PostgresBookSearchIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+@Slf4j
+@Configuration
+public class SearchConfig {
+
+    // auto: PostgreSQL full-text search when the database is PostgreSQL, the in-memory index otherwise
+    @Bean
+    public BookSearchIndex bookSearchIndex(@Value("${app.books.search.engine:auto}") String engine,
+                                           DataSource dataSource,
+                                           NamedParameterJdbcTemplate jdbcTemplate,
+                                           BookRepository bookRepository,
+                                           PlatformTransactionManager transactionManager) {
+        boolean postgres = switch (engine) {
+            case "postgres" -> true;
+            case "memory" -> false;
+            default -> isPostgres(dataSource);
+        };
+        return postgres
+                ? new PostgresBookSearchIndex(jdbcTemplate)
+                : new InMemoryBookSearchIndex(bookRepository, transactionManager);
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try {
+            return "PostgreSQL".equals(JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not detect the database, falling back to the in-memory search index", e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package dev.iraelie.testing.controller;
+
+import dev.iraelie.testing.dtos.SignInRequest;
+import dev.iraelie.testing.dtos.TokenResponse;
+import dev.iraelie.testing.security.JwtService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/auth")
+@RequiredArgsConstructor
+public class AuthController {
+
+    private final AuthenticationManager authenticationManager;
+    private final JwtService jwtService;
+
+    // Password sign-in: the principal comes from CachedUserDetailsService, every later request only carries the token
+    @PostMapping("/token")
+    public TokenResponse signIn(@Valid @RequestBody SignInRequest request) {
+        Authentication authentication = authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(request.email(), request.password()));
+        String token = jwtService.generateToken((UserDetails) authentication.getPrincipal());
+        return new TokenResponse(token, "Bearer", jwtService.getExpiration().toSeconds());
+    }
+}
@@ -0,0 +1,34 @@
+package dev.iraelie.testing.controller;
+
+import dev.iraelie.testing.service.BookExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/v1/books")
+@RequiredArgsConstructor
+public class BookExportController {
+
+    private static final String GZIP_VALUE = "application/gzip";
+
+    private final BookExportService exportService;
+
+    // Nightly catalog export for downstream systems; the body is written while the cursor is read.
+    // gzip=true returns a .ndjson.gz file (application/gzip) rather than a Content-Encoding, so a saved body keeps its format
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, GZIP_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportBooks(@RequestParam(defaultValue = "false") boolean gzip) {
+        String filename = gzip ? "books.ndjson.gz" : "books.ndjson";
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType(GZIP_VALUE) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(out -> exportService.exportNdjson(out, gzip));
+    }
+}
@@ -1,17 +1,13 @@
 package dev.iraelie.testing.dtos;
 
-import lombok.*;
+import lombok.Builder;
 
-@Getter
-@Setter
-@NoArgsConstructor
-@AllArgsConstructor
 @Builder
-public class AuthorDTO {
-    private Long id;
-    private String firstName;
-    private String lastName;
-    private String email;
-    private String country;
-    private Integer totalBooks;
-}
\ No newline at end of file
+public record AuthorDTO(
+        Long id,
+        String firstName,
+        String lastName,
+        String email,
+        String country,
+        Integer totalBooks) {
+}
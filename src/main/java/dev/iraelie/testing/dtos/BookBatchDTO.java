@@ -0,0 +1,7 @@
+package dev.iraelie.testing.dtos;
+
+import java.util.List;
+
+// books are in request order, without the missing ids
+public record BookBatchDTO(List<BookDTO> books, List<Long> missingIds) {
+}
@@ -1,21 +1,17 @@
 package dev.iraelie.testing.dtos;
 
 import dev.iraelie.testing.model.BookGenre;
-import lombok.*;
+import lombok.Builder;
 
-@Getter
-@Setter
-@NoArgsConstructor
-@AllArgsConstructor
 @Builder
-public class BookDTO {
-    private Long id;
-    private String title;
-    private String isbn;
-    private Integer publicationYear;
-    private Integer availableCopies;
-    private Double price;
-    private BookGenre genre;
-    private String authorName;
-    private String publisherName;
-}
\ No newline at end of file
+public record BookDTO(
+        Long id,
+        String title,
+        String isbn,
+        Integer publicationYear,
+        Integer availableCopies,
+        Double price,
+        BookGenre genre,
+        String authorName,
+        String publisherName) {
+}
@@ -0,0 +1,19 @@
+package dev.iraelie.testing.dtos;
+
+import dev.iraelie.testing.model.BookGenre;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookSearchRequest {
+    // Matched against titles and author names; null or blank filters only
+    private String text;
+    private BookGenre genre;
+    private Integer minYear;
+    private Integer maxYear;
+    private Double minPrice;
+    private Double maxPrice;
+}
@@ -0,0 +1,5 @@
+package dev.iraelie.testing.dtos;
+
+// code is the stable ErrorCode.code clients branch on, message is for humans
+public record ErrorResponse(String code, String message) {
+}
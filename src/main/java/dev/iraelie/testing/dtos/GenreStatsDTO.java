@@ -0,0 +1,7 @@
+package dev.iraelie.testing.dtos;
+
+import dev.iraelie.testing.model.BookGenre;
+
+// averagePrice is null when no book of the genre has a price
+public record GenreStatsDTO(BookGenre genre, Long bookCount, Long totalCopies, Double averagePrice) {
+}
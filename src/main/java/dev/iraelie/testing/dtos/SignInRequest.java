@@ -0,0 +1,6 @@
+package dev.iraelie.testing.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record SignInRequest(@NotBlank String email, @NotBlank String password) {
+}
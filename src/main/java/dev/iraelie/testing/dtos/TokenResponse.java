@@ -0,0 +1,5 @@
+package dev.iraelie.testing.dtos;
+
+// expiresIn is in seconds, as in an OAuth 2 token response
+public record TokenResponse(String accessToken, String tokenType, long expiresIn) {
+}
@@ -0,0 +1,4 @@
+package dev.iraelie.testing.event;
+
+public record BookCreatedEvent(Long bookId, Long authorId, String isbn) {
+}
@@ -0,0 +1,4 @@
+package dev.iraelie.testing.event;
+
+public record BookUpdatedEvent(Long bookId) {
+}
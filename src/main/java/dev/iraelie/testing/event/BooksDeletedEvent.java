@@ -0,0 +1,7 @@
+package dev.iraelie.testing.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+public record BooksDeletedEvent(Collection<Long> bookIds, Set<Long> authorIds, Collection<String> isbns) {
+}
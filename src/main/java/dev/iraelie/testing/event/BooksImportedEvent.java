@@ -0,0 +1,8 @@
+package dev.iraelie.testing.event;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public record BooksImportedEvent(List<Long> bookIds, Set<Long> authorIds, Collection<String> isbns) {
+}
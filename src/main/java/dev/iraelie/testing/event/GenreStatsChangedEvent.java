@@ -0,0 +1,8 @@
+package dev.iraelie.testing.event;
+
+import dev.iraelie.testing.stats.GenreTotals;
+
+import java.util.List;
+
+public record GenreStatsChangedEvent(List<GenreTotals> deltas) {
+}
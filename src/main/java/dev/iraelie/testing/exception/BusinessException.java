@@ -2,6 +2,11 @@ package dev.iraelie.testing.exception;
 
 import lombok.Getter;
 
+/**
+ * Business outcome mapped to an {@link ErrorCode}, formatted lazily: the message is built only if
+ * someone reads it. Expected (4xx) codes are stackless, so construction only stores the code and
+ * arguments; server-error codes capture a stack trace and may carry the cause.
+ */
 @Getter
 public class BusinessException extends RuntimeException {
 
@@ -9,15 +14,20 @@ public class BusinessException extends RuntimeException {
     private final Object[] args;
 
     public BusinessException(final ErrorCode errorCode, final Object... args) {
-        super(getFormatterMessage(errorCode, args));
+        this(errorCode, null, args);
+    }
+
+    public BusinessException(final ErrorCode errorCode, final Throwable cause, final Object... args) {
+        super(null, cause, false, !errorCode.isExpected());
         this.errorCode = errorCode;
         this.args = args;
     }
 
-    private static String getFormatterMessage(final ErrorCode errorCode, final Object... args) {
+    @Override
+    public String getMessage() {
         if (args != null && args.length > 0) {
             return String.format(errorCode.getDefaultMessage(), args);
         }
         return errorCode.getDefaultMessage();
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package dev.iraelie.testing.exception;
 
 public class DuplicateResourceException extends RuntimeException {
     public DuplicateResourceException(String message) {
-        super(message);
+        // An expected outcome, like ResourceNotFoundException: no stack trace
+        super(message, null, false, false);
     }
-}
\ No newline at end of file
+}
@@ -30,6 +30,12 @@ public enum ErrorCode {
             HttpStatus.INTERNAL_SERVER_ERROR),
     USERNAME_NOT_FOUND("USERNAME_NOT_FOUND", "Cannot find user with the provided username", NOT_FOUND),
     CATEGORY_ALREADY_EXISTS_FOR_USER("CATEGORY_ALREADY_EXISTS_FOR_USER", "Category already exists for this user", CONFLICT),
+    INVALID_QUANTITY("ERR_INVALID_QUANTITY", "Quantity must be greater than zero", BAD_REQUEST),
+    BOOK_OUT_OF_STOCK("ERR_BOOK_OUT_OF_STOCK", "Not enough copies available for book with id: %s", CONFLICT),
+    RESOURCE_NOT_FOUND("ERR_RESOURCE_NOT_FOUND", "Resource not found", NOT_FOUND),
+    DUPLICATE_RESOURCE("ERR_DUPLICATE_RESOURCE", "Resource already exists", CONFLICT),
+    HOT_STOCK_LOCKED("ERR_HOT_STOCK_LOCKED",
+            "Copies of book with id %s are served from memory; unmark it as hot before changing its stock", CONFLICT),
     ;
 
     private final String code;
@@ -43,4 +49,9 @@ public enum ErrorCode {
         this.defaultMessage = defaultMessage;
         this.status = status;
     }
+
+    // A client-side outcome (4xx) is part of normal traffic; a server error is worth a stack trace
+    public boolean isExpected() {
+        return !status.is5xxServerError();
+    }
 }
@@ -0,0 +1,64 @@
+package dev.iraelie.testing.exception;
+
+import dev.iraelie.testing.dtos.ErrorResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Turns the expected business outcomes into {@link ErrorResponse} bodies with the status of
+ * their {@link ErrorCode}. Argument-free {@link BusinessException}s (and failed sign-ins) answer
+ * with a body built once at startup. Not-found and duplicate responses name the resource, so each
+ * still formats its message and allocates its own body; what they save is the stack trace.
+ * Server-error codes are logged with theirs.
+ */
+@Slf4j
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    private final Map<ErrorCode, ErrorResponse> constantResponses = new EnumMap<>(ErrorCode.class);
+
+    public GlobalExceptionHandler() {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            constantResponses.put(errorCode, new ErrorResponse(errorCode.getCode(), errorCode.getDefaultMessage()));
+        }
+    }
+
+    @ExceptionHandler(BusinessException.class)
+    public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException exception) {
+        ErrorCode errorCode = exception.getErrorCode();
+        if (!errorCode.isExpected()) {
+            log.error("Request failed with {}", errorCode.getCode(), exception);
+        }
+        boolean hasArgs = exception.getArgs() != null && exception.getArgs().length > 0;
+        ErrorResponse body = hasArgs
+                ? new ErrorResponse(errorCode.getCode(), exception.getMessage())
+                : constantResponses.get(errorCode);
+        return ResponseEntity.status(errorCode.getStatus()).body(body);
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleResourceNotFound(ResourceNotFoundException exception) {
+        return respond(ErrorCode.RESOURCE_NOT_FOUND, exception.getMessage());
+    }
+
+    @ExceptionHandler(DuplicateResourceException.class)
+    public ResponseEntity<ErrorResponse> handleDuplicateResource(DuplicateResourceException exception) {
+        return respond(ErrorCode.DUPLICATE_RESOURCE, exception.getMessage());
+    }
+
+    // One answer for unknown email, wrong password, locked or disabled, so sign-in does not reveal which accounts exist
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<ErrorResponse> handleAuthenticationFailure(AuthenticationException exception) {
+        return ResponseEntity.status(ErrorCode.BAD_CREDENTIALS.getStatus()).body(constantResponses.get(ErrorCode.BAD_CREDENTIALS));
+    }
+
+    private static ResponseEntity<ErrorResponse> respond(ErrorCode errorCode, String message) {
+        return ResponseEntity.status(errorCode.getStatus()).body(new ErrorResponse(errorCode.getCode(), message));
+    }
+}
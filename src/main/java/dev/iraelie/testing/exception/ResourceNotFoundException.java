@@ -1,7 +1,31 @@
 package dev.iraelie.testing.exception;
 
+/**
+ * A lookup that found nothing. Misses are expected (and cheap to provoke), so no stack trace is
+ * captured and the {@code resource}/{@code id} form builds its message only when it is read.
+ */
 public class ResourceNotFoundException extends RuntimeException {
+
+    private final String resource;
+    private final Object id;
+    private final String message;
+
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(null, null, false, false);
+        this.resource = null;
+        this.id = null;
+        this.message = message;
+    }
+
+    public ResourceNotFoundException(String resource, Object id) {
+        super(null, null, false, false);
+        this.resource = resource;
+        this.id = id;
+        this.message = null;
+    }
+
+    @Override
+    public String getMessage() {
+        return message != null ? message : resource + " not found with id: " + id;
     }
-}
\ No newline at end of file
+}
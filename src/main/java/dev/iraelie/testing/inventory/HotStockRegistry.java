@@ -0,0 +1,222 @@
+package dev.iraelie.testing.inventory;
+
+import dev.iraelie.testing.event.BookDeletedEvent;
+import dev.iraelie.testing.event.BookUpdatedEvent;
+import dev.iraelie.testing.event.BooksDeletedEvent;
+import dev.iraelie.testing.exception.ResourceNotFoundException;
+import dev.iraelie.testing.repository.BookRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind stock for titles flagged as hot. Reservations against a hot title are served
+ * from a {@link StripedStockCounter} without touching the database; the net change is written
+ * back to {@code book.available_copies} in one JDBC batch per flush.
+ * <p>
+ * The switch to memory happens under the book's row lock: the counter is seeded with
+ * {@code SELECT ... FOR UPDATE}, so a database-path reservation has either committed before the
+ * seed or waits for it and then sees the title hot (BookService re-checks {@link #isHot} while
+ * holding the row). On unmark the stock is closed first, so reservations that raced the unmark
+ * hand their copies back and take the database path instead.
+ * <p>
+ * Hot flags live only in memory, so after a restart every title is back on the database path.
+ * A crash loses at most one flush interval of reservations (the database over-reports stock
+ * by that amount); a graceful shutdown flushes first. The write-back never takes stock below
+ * zero; a shortfall (copies sold twice across a transition) is logged. While a title is hot
+ * its stock must only change through reserve/release (BookService rejects absolute stock
+ * updates), and only one node should hold it hot.
+ */
+@Slf4j
+@Component
+public class HotStockRegistry {
+
+    public enum Outcome { NOT_HOT, RESERVED, INSUFFICIENT }
+
+    private final BookRepository bookRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long retireAfterNanos;
+    private final ConcurrentMap<Long, HotStock> hotBooks = new ConcurrentHashMap<>();
+    // Unmarked titles keep flushing until they have been idle for a full flush interval, so a reservation
+    // that read the stock just before the unmark still gets its decrement written
+    private final ConcurrentMap<Long, Retired> retiring = new ConcurrentHashMap<>();
+
+    public HotStockRegistry(BookRepository bookRepository,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${app.books.hot-stock.flush-interval-ms:1000}") long flushIntervalMs) {
+        this.bookRepository = bookRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.retireAfterNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+    }
+
+    public void markHot(Long bookId) {
+        if (hotBooks.containsKey(bookId)) {
+            return;
+        }
+        // A recently unmarked title may still owe decrements to the row the seed is read from
+        if (retiring.containsKey(bookId)) {
+            flush();
+        }
+        // Published while the row lock is held, so no database-path reservation can commit after the seed unseen
+        transactionTemplate.executeWithoutResult(status -> {
+            int copies = bookRepository.lockAvailableCopiesById(bookId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Book", bookId));
+            hotBooks.putIfAbsent(bookId, new HotStock(new StripedStockCounter(copies)));
+        });
+    }
+
+    public void unmarkHot(Long bookId) {
+        HotStock stock = hotBooks.remove(bookId);
+        if (stock != null) {
+            stock.closed().set(true);
+            retiring.put(bookId, new Retired(stock, System.nanoTime()));
+            flush();
+        }
+    }
+
+    public boolean isHot(Long bookId) {
+        return hotBooks.containsKey(bookId);
+    }
+
+    public Outcome reserve(Long bookId, int quantity) {
+        HotStock stock = hotBooks.get(bookId);
+        if (stock == null) {
+            return Outcome.NOT_HOT;
+        }
+        if (!stock.counter.tryAcquire(quantity)) {
+            return stock.closed().get() ? Outcome.NOT_HOT : Outcome.INSUFFICIENT;
+        }
+        stock.pendingDecrement.add(quantity);
+        // Raced an unmark: hand the copies back (the retiring flush nets both deltas) and let the database decide
+        if (stock.closed().get()) {
+            stock.counter.release(quantity);
+            stock.pendingDecrement.add(-quantity);
+            return Outcome.NOT_HOT;
+        }
+        return Outcome.RESERVED;
+    }
+
+    public boolean release(Long bookId, int quantity) {
+        HotStock stock = hotBooks.get(bookId);
+        if (stock == null) {
+            return false;
+        }
+        stock.counter.release(quantity);
+        // Even on a stock closed by a racing unmark the increment is safe: the retiring flush writes it back
+        stock.pendingDecrement.add(-quantity);
+        return true;
+    }
+
+    // A deleted title has no row left to write back to
+    @TransactionalEventListener
+    public void onBookDeleted(BookDeletedEvent event) {
+        hotBooks.remove(event.bookId());
+        retiring.remove(event.bookId());
+    }
+
+    @TransactionalEventListener
+    public void onBooksDeleted(BooksDeletedEvent event) {
+        event.bookIds().forEach(bookId -> {
+            hotBooks.remove(bookId);
+            retiring.remove(bookId);
+        });
+    }
+
+    // Synchronized: unmarkHot and shutdown flush from the caller's thread while the scheduler may be flushing too
+    @Scheduled(fixedDelayString = "${app.books.hot-stock.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        List<Object[]> updates = new ArrayList<>();
+        hotBooks.forEach((bookId, stock) -> collect(bookId, stock, updates));
+        long now = System.nanoTime();
+        retiring.forEach((bookId, retired) -> {
+            if (!collect(bookId, retired.stock(), updates) && now - retired.retiredAt() >= retireAfterNanos) {
+                retiring.remove(bookId, retired);
+            }
+        });
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                reportShortfalls(updates);
+                jdbcTemplate.batchUpdate("UPDATE book SET available_copies = GREATEST(available_copies - ?, 0) WHERE id = ?", updates);
+                updates.forEach(update -> eventPublisher.publishEvent(new BookUpdatedEvent((Long) update[1])));
+            });
+        } catch (DataAccessException e) {
+            // Put the deltas back so the next flush retries them
+            for (Object[] update : updates) {
+                Retired retired = retiring.get((Long) update[1]);
+                HotStock stock = hotBooks.getOrDefault((Long) update[1], retired == null ? null : retired.stock());
+                if (stock != null) {
+                    stock.pendingDecrement.add((Long) update[0]);
+                }
+            }
+            log.warn("Failed to flush hot stock for {} books, will retry", updates.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        long now = System.nanoTime();
+        hotBooks.forEach((bookId, stock) -> retiring.put(bookId, new Retired(stock, now)));
+        hotBooks.clear();
+        flush();
+    }
+
+    // Locks each row about to be decremented; a decrement larger than the stored stock means copies were sold twice
+    private void reportShortfalls(List<Object[]> updates) {
+        for (Object[] update : updates) {
+            long delta = (Long) update[0];
+            if (delta <= 0) {
+                continue;
+            }
+            Long bookId = (Long) update[1];
+            bookRepository.lockAvailableCopiesById(bookId)
+                    .filter(available -> available < delta)
+                    .ifPresent(available -> log.warn("Hot stock for book {} oversold by {} copies, flooring it at zero",
+                            bookId, delta - available));
+        }
+    }
+
+    // Returns whether the stock had a pending delta
+    private static boolean collect(Long bookId, HotStock stock, List<Object[]> updates) {
+        long delta = stock.pendingDecrement.sumThenReset();
+        if (delta == 0) {
+            return false;
+        }
+        updates.add(new Object[]{delta, bookId});
+        return true;
+    }
+
+    private record HotStock(StripedStockCounter counter, LongAdder pendingDecrement, AtomicBoolean closed) {
+        HotStock(StripedStockCounter counter) {
+            this(counter, new LongAdder(), new AtomicBoolean());
+        }
+    }
+
+    private record Retired(HotStock stock, long retiredAt) {
+    }
+}
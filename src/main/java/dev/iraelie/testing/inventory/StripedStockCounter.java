@@ -0,0 +1,82 @@
+package dev.iraelie.testing.inventory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Stock counter split over cache-line padded stripes so that concurrent reservations mostly
+ * CAS on different memory. A reservation first tries the caller's home stripe, then the others,
+ * and only when no single stripe can cover it drains stripes under a lock.
+ */
+public final class StripedStockCounter {
+
+    // 8 longs = 64 bytes, one stripe per cache line
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray cells;
+    private final int stripes;
+    private final int mask;
+
+    public StripedStockCounter(long initialStock) {
+        this(initialStock, Runtime.getRuntime().availableProcessors());
+    }
+
+    public StripedStockCounter(long initialStock, int concurrency) {
+        this.stripes = Integer.highestOneBit(Math.max(1, concurrency - 1)) << 1;
+        this.mask = this.stripes - 1;
+        this.cells = new AtomicLongArray(this.stripes * PADDING);
+        long share = initialStock / this.stripes;
+        for (int i = 0; i < this.stripes; i++) {
+            this.cells.set(i * PADDING, share);
+        }
+        this.cells.addAndGet(0, initialStock - share * this.stripes);
+    }
+
+    public boolean tryAcquire(long quantity) {
+        int home = home();
+        for (int i = 0; i < stripes; i++) {
+            int cell = ((home + i) & mask) * PADDING;
+            long available;
+            while ((available = cells.get(cell)) >= quantity) {
+                if (cells.compareAndSet(cell, available, available - quantity)) {
+                    return true;
+                }
+            }
+        }
+        return acquireAcrossStripes(quantity, home);
+    }
+
+    public void release(long quantity) {
+        cells.addAndGet((home() & mask) * PADDING, quantity);
+    }
+
+    /**
+     * Weakly consistent total, exact when there are no concurrent updates.
+     */
+    public long available() {
+        long sum = 0;
+        for (int i = 0; i < stripes; i++) {
+            sum += cells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    // Slow path: gather stock from every stripe; anything not needed goes back to the home stripe
+    private synchronized boolean acquireAcrossStripes(long quantity, int home) {
+        long collected = 0;
+        for (int i = 0; i < stripes && collected < quantity; i++) {
+            collected += cells.getAndSet(i * PADDING, 0);
+        }
+        boolean acquired = collected >= quantity;
+        long remainder = acquired ? collected - quantity : collected;
+        if (remainder > 0) {
+            cells.addAndGet((home & mask) * PADDING, remainder);
+        }
+        return acquired;
+    }
+
+    private static int home() {
+        long id = Thread.currentThread().threadId();
+        id = (id ^ (id >>> 33)) * 0xff51afd7ed558ccdL;
+        return (int) (id ^ (id >>> 33));
+    }
+}
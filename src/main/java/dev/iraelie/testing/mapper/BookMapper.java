@@ -1,16 +1,27 @@
 package dev.iraelie.testing.mapper;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import dev.iraelie.testing.dtos.AuthorDTO;
 import dev.iraelie.testing.dtos.BookDTO;
 import dev.iraelie.testing.dtos.CreateBookRequest;
 import dev.iraelie.testing.dtos.UpdateBookRequest;
 import dev.iraelie.testing.model.Author;
 import dev.iraelie.testing.model.Book;
+import dev.iraelie.testing.model.Publisher;
 import org.springframework.stereotype.Component;
 
+import java.util.Objects;
+
 @Component
 public class BookMapper {
 
+    private static final int MAX_CACHED_AUTHOR_NAMES = 50_000;
+
+    private final Cache<Long, AuthorName> authorNames = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_AUTHOR_NAMES)
+            .build();
+
     public Book toBook(CreateBookRequest request) {
         return Book.builder()
                 .title(request.getTitle())
@@ -23,29 +34,28 @@ public class BookMapper {
     }
 
     public BookDTO toBookDTO(Book book) {
-        return BookDTO.builder()
-                .id(book.getId())
-                .title(book.getTitle())
-                .isbn(book.getIsbn())
-                .publicationYear(book.getPublicationYear())
-                .availableCopies(book.getAvailableCopies())
-                .price(book.getPrice())
-                .genre(book.getGenre())
-                .authorName(book.getAuthor() != null ?
-                        book.getAuthor().getFirstName() + " " + book.getAuthor().getLastName() : null)
-                .publisherName(book.getPublisher() != null ? book.getPublisher().getName() : null)
-                .build();
+        Author author = book.getAuthor();
+        Publisher publisher = book.getPublisher();
+        return new BookDTO(
+                book.getId(),
+                book.getTitle(),
+                book.getIsbn(),
+                book.getPublicationYear(),
+                book.getAvailableCopies(),
+                book.getPrice(),
+                book.getGenre(),
+                author != null ? authorName(author) : null,
+                publisher != null ? publisher.getName() : null);
     }
 
     public AuthorDTO toAuthorDTO(Author author) {
-        return AuthorDTO.builder()
-                .id(author.getId())
-                .firstName(author.getFirstName())
-                .lastName(author.getLastName())
-                .email(author.getEmail())
-                .country(author.getCountry())
-                .totalBooks(author.getBooks() != null ? author.getBooks().size() : 0)
-                .build();
+        return new AuthorDTO(
+                author.getId(),
+                author.getFirstName(),
+                author.getLastName(),
+                author.getEmail(),
+                author.getCountry(),
+                author.getBooks() != null ? author.getBooks().size() : 0);
     }
 
     public void updateBook(Book book, UpdateBookRequest request) {
@@ -59,4 +69,26 @@ public class BookMapper {
             book.setPrice(request.getPrice());
         }
     }
-}
\ No newline at end of file
+
+    // One display string per author, shared by all their books; a rename simply misses the cache
+    String authorName(Author author) {
+        String firstName = author.getFirstName();
+        String lastName = author.getLastName();
+        if (author.getId() == null) {
+            return firstName + " " + lastName;
+        }
+        AuthorName cached = authorNames.getIfPresent(author.getId());
+        if (cached != null && cached.matches(firstName, lastName)) {
+            return cached.displayName();
+        }
+        String displayName = firstName + " " + lastName;
+        authorNames.put(author.getId(), new AuthorName(firstName, lastName, displayName));
+        return displayName;
+    }
+
+    private record AuthorName(String firstName, String lastName, String displayName) {
+        boolean matches(String first, String last) {
+            return Objects.equals(firstName, first) && Objects.equals(lastName, last);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package dev.iraelie.testing.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. Registered as the session
+ * factory's statement inspector, so it sees every query, DML and lazy load (batched inserts count
+ * once per distinct statement, not per row). {@link StatementMetricsFilter} reads and resets it
+ * around each HTTP request; a request whose count grows with its result size is an N+1.
+ * <p>
+ * Only the count is kept by default; {@link #record()} also keeps the SQL text until the next
+ * {@link #reset()}, for sampled requests and test assertions. Hibernate instantiates the inspector
+ * itself, hence the static thread-local state.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Tally> TALLY = ThreadLocal.withInitial(Tally::new);
+
+    @Override
+    public String inspect(String sql) {
+        Tally tally = TALLY.get();
+        tally.count++;
+        if (tally.statements != null) {
+            tally.statements.add(sql);
+        }
+        return sql;
+    }
+
+    public static long count() {
+        return TALLY.get().count;
+    }
+
+    public static void record() {
+        Tally tally = TALLY.get();
+        if (tally.statements == null) {
+            tally.statements = new ArrayList<>();
+        }
+    }
+
+    public static List<String> recorded() {
+        List<String> statements = TALLY.get().statements;
+        return statements != null ? List.copyOf(statements) : List.of();
+    }
+
+    public static void reset() {
+        TALLY.remove();
+    }
+
+    private static final class Tally {
+        private long count;
+        private List<String> statements;
+    }
+}
@@ -0,0 +1,99 @@
+package dev.iraelie.testing.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Records how many SQL statements each HTTP request issued, per URI template, as
+ * {@code http.server.requests.jdbc.statements}. Work handed to another thread (streamed exports,
+ * after-commit listeners on the async executor) is not attributed to the request.
+ * <p>
+ * Requests above the statement budget are counted in
+ * {@code http.server.requests.jdbc.over.budget}. A sampled share of requests also keeps its SQL,
+ * and a sampled request over budget is logged with its most repeated statement, which for an
+ * N+1 is the lazy load that ran once per row.
+ * <p>
+ * Both meters are described once as {@link Meter.MeterProvider}s; a request only supplies its
+ * method and URI tags, so the hot path looks the meter up instead of building it.
+ */
+@Slf4j
+@Component
+public class StatementMetricsFilter extends OncePerRequestFilter {
+
+    private static final double[] STATEMENT_BUCKETS = {1, 2, 5, 10, 20, 50, 100, 500};
+
+    private final Meter.MeterProvider<DistributionSummary> statementsPerRequest;
+    private final Meter.MeterProvider<Counter> requestsOverBudget;
+    private final int maxStatementsPerRequest;
+    private final double sampleRate;
+
+    public StatementMetricsFilter(MeterRegistry meterRegistry,
+                                  @Value("${app.metrics.statement-budget.max-per-request:20}") int maxStatementsPerRequest,
+                                  @Value("${app.metrics.statement-budget.sample-rate:0.01}") double sampleRate) {
+        this.statementsPerRequest = DistributionSummary.builder("http.server.requests.jdbc.statements")
+                .description("SQL statements issued while serving one HTTP request")
+                .baseUnit("statements")
+                .serviceLevelObjectives(STATEMENT_BUCKETS)
+                .withRegistry(meterRegistry);
+        this.requestsOverBudget = Counter.builder("http.server.requests.jdbc.over.budget")
+                .description("HTTP requests that issued more SQL statements than the per-request budget")
+                .withRegistry(meterRegistry);
+        this.maxStatementsPerRequest = maxStatementsPerRequest;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        StatementCounter.reset();
+        boolean sampled = ThreadLocalRandom.current().nextDouble() < sampleRate;
+        if (sampled) {
+            StatementCounter.record();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long statements = StatementCounter.count();
+            List<String> recorded = StatementCounter.recorded();
+            StatementCounter.reset();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            statementsPerRequest.withTags("method", request.getMethod(), "uri", uri).record(statements);
+            if (statements > maxStatementsPerRequest) {
+                overBudget(request.getMethod(), uri, statements, recorded);
+            }
+        }
+    }
+
+    private void overBudget(String method, String uri, long statements, List<String> recorded) {
+        requestsOverBudget.withTags("method", method, "uri", uri).increment();
+        if (recorded.isEmpty()) {
+            return;
+        }
+        Map.Entry<String, Long> mostRepeated = recorded.stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
+                .entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElseThrow();
+        log.warn("{} {} issued {} SQL statements (budget {}); most repeated ({}x): {}",
+                method, uri, statements, maxStatementsPerRequest, mostRepeated.getValue(), mostRepeated.getKey());
+    }
+}
@@ -2,7 +2,6 @@ package dev.iraelie.testing.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.EntityListeners;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
 import lombok.AllArgsConstructor;
@@ -10,6 +9,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.UuidGenerator;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
@@ -17,8 +17,7 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
-
-import static jakarta.persistence.GenerationType.UUID;
+import java.util.UUID;
 
 @MappedSuperclass
 @Getter
@@ -29,9 +28,10 @@ import static jakarta.persistence.GenerationType.UUID;
 @EntityListeners(AuditingEntityListener.class)
 public class BaseEntity {
 
+    // Time-ordered (UUIDv7) and stored as a native uuid: new keys append to the right edge of the index
     @Id
-    @GeneratedValue(strategy = UUID)
-    private String id;
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
+    private UUID id;
 
     @CreatedDate
     @Column(name = "CREATED_DATE", updatable = false, nullable = false)
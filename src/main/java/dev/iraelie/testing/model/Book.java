@@ -1,5 +1,6 @@
 package dev.iraelie.testing.model;
 
+import dev.iraelie.testing.cache.MissingIdInvalidator;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -9,12 +10,18 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EntityListeners(MissingIdInvalidator.class)
+@Table(name = "book", uniqueConstraints = @UniqueConstraint(name = Book.ISBN_CONSTRAINT, columnNames = "isbn"))
 public class Book {
+    public static final String ISBN_CONSTRAINT = "uk_book_isbn";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_seq")
+    @SequenceGenerator(name = "book_seq", sequenceName = "book_seq", allocationSize = 50)
     private Long id;
 
     private String title;
+    @Column(nullable = false)
     private String isbn;
     private Integer publicationYear;
     private Integer availableCopies;
@@ -1,11 +1,13 @@
 package dev.iraelie.testing.model;
 
+import dev.iraelie.testing.security.Authorities;
+import dev.iraelie.testing.security.UserCacheInvalidator;
 import jakarta.persistence.*;
 import lombok.NonNull;
+import org.hibernate.annotations.UuidGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.util.CollectionUtils;
 
@@ -13,11 +15,15 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
+@Entity
+@Table(name = "USERS")
+@EntityListeners(UserCacheInvalidator.class)
 public class User implements UserDetails {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
+    private UUID id;
     @Column(name = "FIRST_NAME", nullable = false)
     private String firstName;
     @Column(name = "LAST_NAME", nullable = false)
@@ -64,6 +70,10 @@ public class User implements UserDetails {
     )
     private List<Role> roles;
 
+    public UUID getId() {
+        return this.id;
+    }
+
     @Override
     @NonNull
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -71,7 +81,7 @@ public class User implements UserDetails {
             return List.of();
         }
         return this.roles.stream()
-                .map(role -> new SimpleGrantedAuthority(role.getName()))
+                .map(role -> Authorities.of(role.getName()))
                 .toList();
     }
 
@@ -1,8 +1,13 @@
 package dev.iraelie.testing.repository;
 
+import dev.iraelie.testing.dtos.AuthorDTO;
 import dev.iraelie.testing.model.Author;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
@@ -12,5 +17,21 @@ public interface AuthorRepository extends JpaRepository<Author, Long> {
     @Query("SELECT a FROM Author a LEFT JOIN FETCH a.books WHERE a.id = :id")
     Optional<Author> findByIdWithBooks(Long id);
 
+    @Query("""
+            SELECT new dev.iraelie.testing.dtos.AuthorDTO(
+                a.id, a.firstName, a.lastName, a.email, a.country, CAST(COUNT(b.id) AS Integer))
+            FROM Author a
+            LEFT JOIN a.books b
+            WHERE a.id = :id
+            GROUP BY a.id, a.firstName, a.lastName, a.email, a.country
+            """)
+    Optional<AuthorDTO> findAuthorDTOById(Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Author> findByEmail(String email);
+
+    // Bypasses the books cascade; callers delete the author's books with one statement first
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Author a WHERE a.id = :id")
+    int bulkDeleteById(Long id);
 }
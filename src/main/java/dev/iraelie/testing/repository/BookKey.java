@@ -0,0 +1,10 @@
+package dev.iraelie.testing.repository;
+
+import dev.iraelie.testing.model.BookGenre;
+
+/**
+ * The columns a delete needs to keep caches, the ISBN filter and the genre statistics in step,
+ * read without loading the entity.
+ */
+public record BookKey(Long id, Long authorId, String isbn, BookGenre genre, Integer availableCopies, Double price) {
+}
@@ -1,22 +1,162 @@
 package dev.iraelie.testing.repository;
 
+import dev.iraelie.testing.dtos.BookDTO;
+import dev.iraelie.testing.dtos.GenreStatsDTO;
 import dev.iraelie.testing.model.Book;
 import dev.iraelie.testing.model.BookGenre;
+import dev.iraelie.testing.stats.GenreTotals;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
 
+    String BOOK_DTO_QUERY = """
+            SELECT new dev.iraelie.testing.dtos.BookDTO(
+                b.id, b.title, b.isbn, b.publicationYear, b.availableCopies, b.price, b.genre,
+                CONCAT(a.firstName, ' ', a.lastName), p.name)
+            FROM Book b
+            LEFT JOIN b.author a
+            LEFT JOIN b.publisher p
+            """;
+
     Optional<Book> findByIsbn(String isbn);
 
+    @Query(BOOK_DTO_QUERY + "WHERE b.id IN :ids")
+    List<BookDTO> findBookDTOsByIdIn(Collection<Long> ids);
+
+    boolean existsByIsbn(String isbn);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT b.isbn FROM Book b")
+    Stream<String> streamAllIsbns();
+
+    @Query("SELECT b.isbn FROM Book b WHERE b.isbn IN :isbns")
+    List<String> findExistingIsbns(Collection<String> isbns);
+
     List<Book> findAllByAuthorId(Long authorId);
 
+    // Driven from Author so that a known author without books still yields one all-null book row,
+    // which lets the caller tell "no books" from "no author" without a second query.
+    @Query("""
+            SELECT new dev.iraelie.testing.dtos.BookDTO(
+                b.id, b.title, b.isbn, b.publicationYear, b.availableCopies, b.price, b.genre,
+                CONCAT(a.firstName, ' ', a.lastName), p.name)
+            FROM Author a
+            LEFT JOIN a.books b
+            LEFT JOIN b.publisher p
+            WHERE a.id = :authorId
+            ORDER BY b.id
+            """)
+    List<BookDTO> findBookDTOsByAuthorId(Long authorId);
+
     List<Book> findAllByGenre(BookGenre genre);
 
     @Query("SELECT b FROM Book b WHERE b.availableCopies > 0")
     List<Book> findAllAvailableBooks();
-}
\ No newline at end of file
+
+    @Query("SELECT b.availableCopies FROM Book b WHERE b.id = :id")
+    Optional<Integer> findAvailableCopiesById(Long id);
+
+    // Row-locking read for moving stock between the database and memory; needs a surrounding transaction
+    @Query(value = "SELECT available_copies FROM book WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Integer> lockAvailableCopiesById(Long id);
+
+    // Atomic stock changes: the WHERE clause makes a reservation fail instead of overselling
+
+    @Modifying
+    @Query("UPDATE Book b SET b.availableCopies = b.availableCopies - :quantity WHERE b.id = :id AND b.availableCopies >= :quantity")
+    int reserveCopies(Long id, int quantity);
+
+    @Modifying
+    @Query("UPDATE Book b SET b.availableCopies = b.availableCopies + :quantity WHERE b.id = :id")
+    int releaseCopies(Long id, int quantity);
+
+    // Set-based deletes: one DELETE statement each, returning the affected-row count
+
+    String BOOK_KEY_QUERY = """
+            SELECT new dev.iraelie.testing.repository.BookKey(b.id, a.id, b.isbn, b.genre, b.availableCopies, b.price)
+            FROM Book b
+            LEFT JOIN b.author a
+            """;
+
+    @Query(BOOK_KEY_QUERY + "WHERE b.id = :id")
+    Optional<BookKey> findKeyById(Long id);
+
+    @Query(BOOK_KEY_QUERY + "WHERE b.id IN :ids")
+    List<BookKey> findKeysByIdIn(Collection<Long> ids);
+
+    @Query(BOOK_KEY_QUERY + "WHERE a.id = :authorId")
+    List<BookKey> findKeysByAuthorId(Long authorId);
+
+    @Query(BOOK_KEY_QUERY + "WHERE b.publisher.id = :publisherId")
+    List<BookKey> findKeysByPublisherId(Long publisherId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Book b WHERE b.id IN :ids")
+    int bulkDeleteByIds(Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Book b WHERE b.author.id = :authorId")
+    int bulkDeleteByAuthorId(Long authorId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Book b WHERE b.publisher.id = :publisherId")
+    int bulkDeleteByPublisherId(Long publisherId);
+
+    // Genre aggregates computed by the database
+
+    @Query("""
+            SELECT new dev.iraelie.testing.dtos.GenreStatsDTO(b.genre, COUNT(b), COALESCE(SUM(b.availableCopies), 0L), AVG(b.price))
+            FROM Book b
+            WHERE b.genre IS NOT NULL
+            GROUP BY b.genre
+            ORDER BY b.genre
+            """)
+    List<GenreStatsDTO> findGenreStats();
+
+    @Query("""
+            SELECT new dev.iraelie.testing.stats.GenreTotals(
+                b.genre, COUNT(b), COALESCE(SUM(b.availableCopies), 0L), COALESCE(SUM(b.price), 0.0), COUNT(b.price))
+            FROM Book b
+            WHERE b.genre IS NOT NULL
+            GROUP BY b.genre
+            """)
+    List<GenreTotals> findGenreTotals();
+
+    // Keyset (seek) pages: each page starts strictly after the last id of the previous one
+
+    @Query(BOOK_DTO_QUERY + "WHERE a.id = :authorId AND b.id > :afterId ORDER BY b.id")
+    List<BookDTO> findBookDTOsByAuthorIdAfter(Long authorId, Long afterId, Limit limit);
+
+    @Query(BOOK_DTO_QUERY + "WHERE b.genre = :genre AND b.id > :afterId ORDER BY b.id")
+    List<BookDTO> findBookDTOsByGenreAfter(BookGenre genre, Long afterId, Limit limit);
+
+    @Query(BOOK_DTO_QUERY + "WHERE b.availableCopies > 0 AND b.id > :afterId ORDER BY b.id")
+    List<BookDTO> findAvailableBookDTOsAfter(Long afterId, Limit limit);
+
+    // DTO rows never enter the persistence context, so the stream holds constant memory
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(BOOK_DTO_QUERY + "WHERE b.availableCopies > 0 ORDER BY b.id")
+    Stream<BookDTO> streamAvailableBookDTOs();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(BOOK_DTO_QUERY)
+    Stream<BookDTO> streamAllBookDTOs();
+}
@@ -2,13 +2,19 @@ package dev.iraelie.testing.repository;
 
 import dev.iraelie.testing.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
+import java.util.UUID;
 
-public interface UserRepository extends JpaRepository<User, String> {
+public interface UserRepository extends JpaRepository<User, UUID> {
     boolean existsByEmailIgnoreCase(String email);
 
     Optional<User> findByEmailIgnoreCase(String email);
 
+    // User and roles in one statement; the EAGER mapping alone would load the roles with a second select
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE LOWER(u.email) = LOWER(:email)")
+    Optional<User> findWithRolesByEmailIgnoreCase(String email);
+
     boolean existsByPhoneNumber(String phoneNumber);
 }
@@ -0,0 +1,17 @@
+package dev.iraelie.testing.search;
+
+import dev.iraelie.testing.dtos.BookDTO;
+import dev.iraelie.testing.dtos.BookSearchRequest;
+
+import java.util.List;
+
+public interface BookSearchIndex {
+
+    /**
+     * Books matching every term in the title or author name, best match first and then by id.
+     * Without terms only the filters apply, in id order.
+     *
+     * @param prefix whether the last term also matches longer words (search-as-you-type)
+     */
+    List<BookDTO> search(List<String> terms, boolean prefix, BookSearchRequest filters, long offset, int limit);
+}
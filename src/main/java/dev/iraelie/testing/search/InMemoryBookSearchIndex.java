@@ -0,0 +1,219 @@
+package dev.iraelie.testing.search;
+
+import dev.iraelie.testing.dtos.BookDTO;
+import dev.iraelie.testing.dtos.BookSearchRequest;
+import dev.iraelie.testing.event.BookCreatedEvent;
+import dev.iraelie.testing.event.BookDeletedEvent;
+import dev.iraelie.testing.event.BookUpdatedEvent;
+import dev.iraelie.testing.event.BooksDeletedEvent;
+import dev.iraelie.testing.event.BooksImportedEvent;
+import dev.iraelie.testing.repository.BookRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Inverted index over titles and author names for databases without full-text search (H2 in
+ * tests and local runs). Terms sit in sorted maps so prefixes are a range scan; scoring mirrors
+ * the PostgreSQL weights (title over author) scaled by inverse document frequency.
+ * <p>
+ * The index holds the {@link BookDTO} rows themselves and follows committed changes through
+ * the book events. Author renames are only picked up by the next warm-up.
+ * <p>
+ * Events are applied on a single index thread rather than in the writer's after-commit callback,
+ * where the writer still holds its connection: a reload there needs a second one, and with every
+ * permit held by a writer waiting for its second, writes stall until the permit timeout.
+ * One thread also keeps updates to a book in order, since each reload reads the database after
+ * every commit queued before it.
+ */
+@Slf4j
+public class InMemoryBookSearchIndex implements BookSearchIndex {
+
+    private static final double TITLE_WEIGHT = 1.0;
+    private static final double AUTHOR_WEIGHT = 0.4;
+    private static final int RELOAD_CHUNK_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Map<Long, BookDTO> books = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<String, Set<Long>> titleTerms = new ConcurrentSkipListMap<>();
+    private final ConcurrentNavigableMap<String, Set<Long>> authorTerms = new ConcurrentSkipListMap<>();
+    private final ExecutorService updates =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("book-search-index").factory());
+
+    public InMemoryBookSearchIndex(BookRepository bookRepository, PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Reloads run on the index thread after the writer committed, so they need a transaction of their own
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.nanoTime();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<BookDTO> rows = bookRepository.streamAllBookDTOs()) {
+                for (Iterator<BookDTO> iterator = rows.iterator(); iterator.hasNext(); ) {
+                    index(iterator.next());
+                }
+            }
+        });
+        log.info("Book search index built with {} books in {} ms", books.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public synchronized void index(BookDTO book) {
+        BookDTO previous = books.put(book.id(), book);
+        if (previous != null) {
+            unpost(previous);
+        }
+        post(book);
+    }
+
+    public synchronized void remove(Long bookId) {
+        BookDTO previous = books.remove(bookId);
+        if (previous != null) {
+            unpost(previous);
+        }
+    }
+
+    @Override
+    public List<BookDTO> search(List<String> terms, boolean prefix, BookSearchRequest filters, long offset, int limit) {
+        Map<Long, Double> scores = null;
+        for (int i = 0; i < terms.size(); i++) {
+            Map<Long, Double> matches = match(terms.get(i), prefix && i == terms.size() - 1);
+            double idf = Math.log1p((double) books.size() / Math.max(1, matches.size()));
+            if (scores == null) {
+                scores = new HashMap<>();
+                for (Map.Entry<Long, Double> match : matches.entrySet()) {
+                    scores.put(match.getKey(), match.getValue() * idf);
+                }
+            } else {
+                scores.keySet().retainAll(matches.keySet());
+                for (Map.Entry<Long, Double> score : scores.entrySet()) {
+                    score.setValue(score.getValue() + matches.get(score.getKey()) * idf);
+                }
+            }
+        }
+
+        Map<Long, Double> ranked = scores;
+        Collection<Long> candidates = ranked != null ? ranked.keySet() : books.keySet();
+        List<BookDTO> hits = new ArrayList<>();
+        for (Long id : candidates) {
+            BookDTO book = books.get(id);
+            if (book != null && matchesFilters(book, filters)) {
+                hits.add(book);
+            }
+        }
+        Comparator<BookDTO> byId = Comparator.comparing(BookDTO::id);
+        hits.sort(ranked == null ? byId
+                : Comparator.<BookDTO>comparingDouble(book -> ranked.get(book.id())).reversed().thenComparing(byId));
+        int from = (int) Math.min(offset, hits.size());
+        return new ArrayList<>(hits.subList(from, Math.min(from + limit, hits.size())));
+    }
+
+    @TransactionalEventListener
+    public void onBookCreated(BookCreatedEvent event) {
+        updates.execute(() -> reload(List.of(event.bookId())));
+    }
+
+    @TransactionalEventListener
+    public void onBooksImported(BooksImportedEvent event) {
+        updates.execute(() -> reload(event.bookIds()));
+    }
+
+    @TransactionalEventListener
+    public void onBookUpdated(BookUpdatedEvent event) {
+        updates.execute(() -> reload(List.of(event.bookId())));
+    }
+
+    @TransactionalEventListener
+    public void onBookDeleted(BookDeletedEvent event) {
+        updates.execute(() -> remove(event.bookId()));
+    }
+
+    @TransactionalEventListener
+    public void onBooksDeleted(BooksDeletedEvent event) {
+        updates.execute(() -> event.bookIds().forEach(this::remove));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        updates.shutdown();
+    }
+
+    private void reload(List<Long> bookIds) {
+        for (int from = 0; from < bookIds.size(); from += RELOAD_CHUNK_SIZE) {
+            List<Long> chunk = bookIds.subList(from, Math.min(from + RELOAD_CHUNK_SIZE, bookIds.size()));
+            List<BookDTO> rows = readOnlyTransaction.execute(status -> bookRepository.findBookDTOsByIdIn(chunk));
+            rows.forEach(this::index);
+        }
+    }
+
+    // id -> summed weight of the fields containing the term (or a word it prefixes)
+    private Map<Long, Double> match(String term, boolean prefix) {
+        Set<Long> inTitle = postings(titleTerms, term, prefix);
+        Set<Long> inAuthor = postings(authorTerms, term, prefix);
+        Map<Long, Double> matches = new HashMap<>();
+        inAuthor.forEach(id -> matches.put(id, AUTHOR_WEIGHT));
+        inTitle.forEach(id -> matches.merge(id, TITLE_WEIGHT, Double::sum));
+        return matches;
+    }
+
+    private static Set<Long> postings(ConcurrentNavigableMap<String, Set<Long>> terms, String term, boolean prefix) {
+        if (!prefix) {
+            return terms.getOrDefault(term, Set.of());
+        }
+        Set<Long> ids = new HashSet<>();
+        terms.subMap(term, true, term + Character.MAX_VALUE, true).values().forEach(ids::addAll);
+        return ids;
+    }
+
+    private static boolean matchesFilters(BookDTO book, BookSearchRequest filters) {
+        return (filters.getGenre() == null || filters.getGenre() == book.genre())
+                && (filters.getMinYear() == null || book.publicationYear() != null && book.publicationYear() >= filters.getMinYear())
+                && (filters.getMaxYear() == null || book.publicationYear() != null && book.publicationYear() <= filters.getMaxYear())
+                && (filters.getMinPrice() == null || book.price() != null && book.price() >= filters.getMinPrice())
+                && (filters.getMaxPrice() == null || book.price() != null && book.price() <= filters.getMaxPrice());
+    }
+
+    private void post(BookDTO book) {
+        SearchTerms.tokenize(book.title())
+                .forEach(term -> titleTerms.computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(book.id()));
+        SearchTerms.tokenize(book.authorName())
+                .forEach(term -> authorTerms.computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(book.id()));
+    }
+
+    private void unpost(BookDTO book) {
+        SearchTerms.tokenize(book.title()).forEach(term -> unpost(titleTerms, term, book.id()));
+        SearchTerms.tokenize(book.authorName()).forEach(term -> unpost(authorTerms, term, book.id()));
+    }
+
+    private static void unpost(ConcurrentNavigableMap<String, Set<Long>> terms, String term, Long bookId) {
+        terms.computeIfPresent(term, (key, ids) -> {
+            ids.remove(bookId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
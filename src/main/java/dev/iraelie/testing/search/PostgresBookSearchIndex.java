@@ -0,0 +1,102 @@
+package dev.iraelie.testing.search;
+
+import dev.iraelie.testing.dtos.BookDTO;
+import dev.iraelie.testing.dtos.BookSearchRequest;
+import dev.iraelie.testing.model.BookGenre;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Full-text search on PostgreSQL. {@code book.search_vector} holds the title (weight A) and the
+ * author name (weight B), kept current by triggers on both tables (migration V3) and served by a
+ * GIN index, so the match never touches the author table. The {@code simple} configuration is
+ * used because titles and names are multilingual and must match the way they are typed.
+ */
+public class PostgresBookSearchIndex implements BookSearchIndex {
+
+    private static final String SELECT = """
+            SELECT b.id, b.title, b.isbn, b.publication_year, b.available_copies, b.price, b.genre,
+                   a.first_name || ' ' || a.last_name AS author_name, p.name AS publisher_name
+            FROM book b
+            LEFT JOIN author a ON a.id = b.author_id
+            LEFT JOIN publisher p ON p.id = b.publisher_id
+            """;
+
+    // Canonical constructor, no builder; the author name arrives pre-joined (NULL without an author) like the JPQL projections
+    private static final RowMapper<BookDTO> BOOK_DTO_MAPPER = (rs, rowNum) -> {
+        String genre = rs.getString("genre");
+        return new BookDTO(
+                rs.getLong("id"),
+                rs.getString("title"),
+                rs.getString("isbn"),
+                rs.getObject("publication_year", Integer.class),
+                rs.getObject("available_copies", Integer.class),
+                rs.getObject("price", Double.class),
+                genre != null ? BookGenre.valueOf(genre) : null,
+                rs.getString("author_name"),
+                rs.getString("publisher_name"));
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public PostgresBookSearchIndex(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<BookDTO> search(List<String> terms, boolean prefix, BookSearchRequest filters, long offset, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("offset", offset)
+                .addValue("limit", limit);
+        StringBuilder sql = new StringBuilder(SELECT);
+        if (!terms.isEmpty()) {
+            sql.append("CROSS JOIN to_tsquery('simple', :query) AS q\n");
+            params.addValue("query", toTsQuery(terms, prefix));
+        }
+        sql.append("WHERE 1 = 1\n");
+        if (!terms.isEmpty()) {
+            sql.append("AND b.search_vector @@ q\n");
+        }
+        if (filters.getGenre() != null) {
+            sql.append("AND b.genre = :genre\n");
+            params.addValue("genre", filters.getGenre().name());
+        }
+        if (filters.getMinYear() != null) {
+            sql.append("AND b.publication_year >= :minYear\n");
+            params.addValue("minYear", filters.getMinYear());
+        }
+        if (filters.getMaxYear() != null) {
+            sql.append("AND b.publication_year <= :maxYear\n");
+            params.addValue("maxYear", filters.getMaxYear());
+        }
+        if (filters.getMinPrice() != null) {
+            sql.append("AND b.price >= :minPrice\n");
+            params.addValue("minPrice", filters.getMinPrice());
+        }
+        if (filters.getMaxPrice() != null) {
+            sql.append("AND b.price <= :maxPrice\n");
+            params.addValue("maxPrice", filters.getMaxPrice());
+        }
+        sql.append(terms.isEmpty() ? "ORDER BY b.id\n" : "ORDER BY ts_rank(b.search_vector, q) DESC, b.id\n");
+        sql.append("LIMIT :limit OFFSET :offset");
+        return jdbcTemplate.query(sql.toString(), params, BOOK_DTO_MAPPER);
+    }
+
+    // All terms must match; "rin" becomes "rin:*" for autocomplete
+    private static String toTsQuery(List<String> terms, boolean prefix) {
+        StringBuilder query = new StringBuilder();
+        for (int i = 0; i < terms.size(); i++) {
+            if (i > 0) {
+                query.append(" & ");
+            }
+            query.append(terms.get(i));
+            if (prefix && i == terms.size() - 1) {
+                query.append(":*");
+            }
+        }
+        return query.toString();
+    }
+}
@@ -0,0 +1,79 @@
+package dev.iraelie.testing.security;
+
+import dev.iraelie.testing.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of a user for authentication, safe to cache and share between requests.
+ * Deliberately not a {@code CredentialsContainer}: the provider manager would otherwise erase
+ * the password of the cached instance after the first successful login.
+ */
+public final class AuthenticatedUser implements UserDetails {
+
+    private final UUID id;
+    private final String username;
+    private final String password;
+    private final List<GrantedAuthority> authorities;
+    private final boolean enabled;
+    private final boolean accountNonLocked;
+    private final boolean credentialsNonExpired;
+
+    private AuthenticatedUser(User user) {
+        this.id = user.getId();
+        this.username = user.getUsername();
+        this.password = user.getPassword();
+        // Already interned by User.getAuthorities()
+        this.authorities = List.copyOf(user.getAuthorities());
+        this.enabled = user.isEnabled();
+        this.accountNonLocked = user.isAccountNonLocked();
+        this.credentialsNonExpired = user.isCredentialsNonExpired();
+    }
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user);
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return accountNonLocked;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return credentialsNonExpired;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser[" + username + ", " + authorities + "]";
+    }
+}
@@ -0,0 +1,24 @@
+package dev.iraelie.testing.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * One shared {@link GrantedAuthority} per role name. There are a handful of roles and every
+ * principal and token carries them, so interning turns a per-request allocation into a map hit.
+ */
+public final class Authorities {
+
+    private static final ConcurrentMap<String, GrantedAuthority> INTERNED = new ConcurrentHashMap<>();
+
+    private Authorities() {
+    }
+
+    public static GrantedAuthority of(String roleName) {
+        GrantedAuthority authority = INTERNED.get(roleName);
+        return authority != null ? authority : INTERNED.computeIfAbsent(roleName, SimpleGrantedAuthority::new);
+    }
+}
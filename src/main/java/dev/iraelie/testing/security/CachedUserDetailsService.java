@@ -0,0 +1,70 @@
+package dev.iraelie.testing.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import dev.iraelie.testing.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Loads users for sign-in with their roles in one query and keeps the resulting
+ * {@link AuthenticatedUser} in a bounded cache keyed by lower-cased email. Concurrent sign-ins
+ * for the same user share one load; {@link UserCacheInvalidator} evicts a user as soon as its
+ * row changes (lock, disable, password), the TTL only bounds changes made outside JPA.
+ * <p>
+ * Eviction is by user id, so an id-to-email side map makes it a single lookup instead of a scan;
+ * entries leave the side map together with their cache entry.
+ */
+@Service
+public class CachedUserDetailsService implements UserDetailsService {
+
+    private final UserRepository userRepository;
+    private final Cache<String, AuthenticatedUser> users;
+    private final ConcurrentMap<UUID, String> emailsById = new ConcurrentHashMap<>();
+
+    public CachedUserDetailsService(UserRepository userRepository,
+                                    @Value("${app.security.users.cache-size:100000}") long cacheSize,
+                                    @Value("${app.security.users.cache-ttl:PT10M}") Duration cacheTtl) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .evictionListener((String email, AuthenticatedUser user, RemovalCause cause) -> {
+                    if (user != null) {
+                        emailsById.remove(user.getId(), email);
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) {
+        return users.get(username.toLowerCase(Locale.ROOT), this::load);
+    }
+
+    // Keyed by email, so a user whose email just changed is found through the email it was cached under
+    public void evict(UUID userId) {
+        String email = emailsById.remove(userId);
+        if (email != null) {
+            users.invalidate(email);
+        }
+    }
+
+    private AuthenticatedUser load(String email) {
+        AuthenticatedUser user = userRepository.findWithRolesByEmailIgnoreCase(email)
+                .map(AuthenticatedUser::of)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        emailsById.put(user.getId(), email);
+        return user;
+    }
+}
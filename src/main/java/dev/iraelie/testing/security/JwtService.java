@@ -0,0 +1,97 @@
+package dev.iraelie.testing.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Issues and verifies HMAC-signed access tokens. The key and the parser are built once; verified
+ * tokens are cached by their exact text until they expire, so a client repeating its token pays
+ * for the signature check and the JSON parsing once, not on every request.
+ * <p>
+ * Authorities come from the {@code roles} claim, never from the database, and are interned
+ * through {@link Authorities}.
+ */
+@Service
+public class JwtService {
+
+    static final String ROLES_CLAIM = "roles";
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final Duration expiration;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtService(@Value("${app.security.jwt.secret-key}") String secretKey,
+                      @Value("${app.security.jwt.expiration:PT1H}") Duration expiration,
+                      @Value("${app.security.jwt.cache-size:100000}") long cacheSize) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.expiration = expiration;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(Expiry.creating((String token, VerifiedToken verified) ->
+                        Duration.between(Instant.now(), verified.expiresAt())))
+                .build();
+    }
+
+    public Duration getExpiration() {
+        return expiration;
+    }
+
+    public String generateToken(UserDetails user) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .subject(user.getUsername())
+                .claim(ROLES_CLAIM, user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(expiration)))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    /**
+     * @throws JwtException if the token is malformed, forged or expired
+     */
+    public VerifiedToken verify(String token) {
+        return verifiedTokens.get(token, this::parse);
+    }
+
+    private VerifiedToken parse(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getSubject() == null || claims.getExpiration() == null) {
+            throw new JwtException("Token has no subject or expiration");
+        }
+        return new VerifiedToken(claims.getSubject(), authorities(claims.get(ROLES_CLAIM, Collection.class)),
+                claims.getExpiration().toInstant());
+    }
+
+    private static List<GrantedAuthority> authorities(Collection<?> roles) {
+        if (roles == null) {
+            return List.of();
+        }
+        return roles.stream()
+                .map(role -> Authorities.of(String.valueOf(role)))
+                .toList();
+    }
+
+    public record VerifiedToken(String username, List<GrantedAuthority> authorities, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,45 @@
+package dev.iraelie.testing.security;
+
+import dev.iraelie.testing.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * JPA listener on {@link User} that drops the cached principal whenever the row is updated or
+ * deleted: locking, disabling or changing the password takes effect on the next sign-in. The
+ * entry is evicted at flush and again after completion, so a sign-in racing the transaction
+ * cannot leave the pre-commit state cached.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheInvalidator {
+
+    // Resolved lazily: the service depends on the repository, which needs the entity manager factory that uses this listener
+    private final ObjectProvider<CachedUserDetailsService> userDetailsService;
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        UUID userId = user.getId();
+        evict(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(userId);
+                }
+            });
+        }
+    }
+
+    private void evict(UUID userId) {
+        userDetailsService.ifAvailable(service -> service.evict(userId));
+    }
+}
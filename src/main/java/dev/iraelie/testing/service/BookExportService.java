@@ -0,0 +1,69 @@
+package dev.iraelie.testing.service;
+
+import dev.iraelie.testing.dtos.BookDTO;
+import dev.iraelie.testing.repository.BookRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams the whole catalog as NDJSON. Rows come off a forward-only cursor as DTO projections
+ * (author and publisher names joined in, nothing enters the persistence context) and go out
+ * through a 64 KiB buffer, so heap use does not grow with the catalog and a slow reader simply
+ * blocks the writer.
+ */
+@Service
+public class BookExportService {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final BookRepository bookRepository;
+    private final ObjectWriter lineWriter;
+
+    public BookExportService(BookRepository bookRepository, JsonMapper jsonMapper) {
+        this.bookRepository = bookRepository;
+        this.lineWriter = jsonMapper.writerFor(BookDTO.class)
+                .withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Writes one JSON object per book and line, optionally gzip-compressed. The target is
+     * flushed but left open for the caller.
+     *
+     * @return the number of books written
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream target, boolean gzip) throws IOException {
+        OutputStream out = gzip
+                ? new GZIPOutputStream(target, WRITE_BUFFER_SIZE)
+                : new BufferedOutputStream(target, WRITE_BUFFER_SIZE);
+        long count = 0;
+        try (Stream<BookDTO> books = bookRepository.streamAllBookDTOs();
+             SequenceWriter lines = lineWriter.writeValues(out)) {
+            for (Iterator<BookDTO> iterator = books.iterator(); iterator.hasNext(); count++) {
+                lines.write(iterator.next());
+            }
+        }
+        if (count > 0) {
+            out.write('\n');
+        }
+        if (out instanceof GZIPOutputStream compressed) {
+            compressed.finish();
+        }
+        out.flush();
+        return count;
+    }
+}
@@ -0,0 +1,42 @@
+package dev.iraelie.testing.service;
+
+import dev.iraelie.testing.dtos.BookDTO;
+import dev.iraelie.testing.dtos.BookSearchRequest;
+import dev.iraelie.testing.search.BookSearchIndex;
+import dev.iraelie.testing.search.SearchTerms;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class BookSearchService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final BookSearchIndex searchIndex;
+
+    // 1. Ranked search over titles and author names, every term must match
+    public Slice<BookDTO> search(BookSearchRequest request, Pageable pageable) {
+        return find(request, false, pageable);
+    }
+
+    // 2. Search-as-you-type: the last term also matches longer words
+    public Slice<BookDTO> autocomplete(BookSearchRequest request, Pageable pageable) {
+        return find(request, true, pageable);
+    }
+
+    // Slices are fetched with one extra row so that hasNext needs no count query
+    private Slice<BookDTO> find(BookSearchRequest request, boolean prefix, Pageable pageable) {
+        int pageSize = Math.clamp(pageable.getPageSize(), 1, MAX_PAGE_SIZE);
+        List<String> terms = SearchTerms.tokenize(request.getText());
+        List<BookDTO> rows = searchIndex.search(terms, prefix, request, (long) pageable.getPageNumber() * pageSize, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageSize) : rows, PageRequest.of(pageable.getPageNumber(), pageSize), hasNext);
+    }
+}
@@ -1,104 +1,568 @@
 package dev.iraelie.testing.service;
 
+import dev.iraelie.testing.cache.CacheNames;
+import dev.iraelie.testing.cache.IsbnBloomFilter;
+import dev.iraelie.testing.cache.MissingIdCache;
 import dev.iraelie.testing.dtos.*;
+import dev.iraelie.testing.event.AuthorDeletedEvent;
+import dev.iraelie.testing.event.BookCreatedEvent;
+import dev.iraelie.testing.event.BookDeletedEvent;
+import dev.iraelie.testing.event.BookUpdatedEvent;
+import dev.iraelie.testing.event.BooksDeletedEvent;
+import dev.iraelie.testing.event.BooksImportedEvent;
+import dev.iraelie.testing.exception.BusinessException;
 import dev.iraelie.testing.exception.DuplicateResourceException;
+import dev.iraelie.testing.exception.ErrorCode;
 import dev.iraelie.testing.exception.ResourceNotFoundException;
+import dev.iraelie.testing.inventory.HotStockRegistry;
 import dev.iraelie.testing.mapper.BookMapper;
 import dev.iraelie.testing.model.Author;
 import dev.iraelie.testing.model.Book;
+import dev.iraelie.testing.model.BookGenre;
 import dev.iraelie.testing.model.Publisher;
 import dev.iraelie.testing.repository.AuthorRepository;
+import dev.iraelie.testing.repository.BookKey;
 import dev.iraelie.testing.repository.BookRepository;
 import dev.iraelie.testing.repository.PublisherRepository;
+import dev.iraelie.testing.stats.GenreDeltas;
+import dev.iraelie.testing.stats.GenreStatsView;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+// One timer per operation (tagged with the method name); buckets for Prometheus, p50/p95/p99 for dashboards
+@Timed(value = "books.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class BookService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1_000;
+
     private final BookRepository bookRepository;
     private final AuthorRepository authorRepository;
     private final PublisherRepository publisherRepository;
     private final BookMapper bookMapper;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IsbnBloomFilter isbnFilter;
+    private final HotStockRegistry hotStockRegistry;
+    private final GenreStatsView genreStatsView;
+    private final MissingIdCache missingIdCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.books.import-batch-size:100}")
+    private int importBatchSize;
 
     // 1. Create a new book
     @Transactional
     public Long createBook(CreateBookRequest request) {
-        // Check if ISBN already exists
-        if (bookRepository.findByIsbn(request.getIsbn()).isPresent()) {
+        // Check if ISBN already exists; the filter rules out most new ISBNs without a query
+        if (isbnFilter.mightContain(request.getIsbn()) && bookRepository.existsByIsbn(request.getIsbn())) {
             throw new DuplicateResourceException("Book with ISBN " + request.getIsbn() + " already exists");
         }
 
         // Validate author exists
         Author author = authorRepository.findById(request.getAuthorId())
-                .orElseThrow(() -> new ResourceNotFoundException("Author not found with id: " + request.getAuthorId()));
+                .orElseThrow(() -> new ResourceNotFoundException("Author", request.getAuthorId()));
 
         // Validate publisher exists
         Publisher publisher = publisherRepository.findById(request.getPublisherId())
-                .orElseThrow(() -> new ResourceNotFoundException("Publisher not found with id: " + request.getPublisherId()));
+                .orElseThrow(() -> new ResourceNotFoundException("Publisher", request.getPublisherId()));
 
         // Create book
         Book book = bookMapper.toBook(request);
         book.setAuthor(author);
         book.setPublisher(publisher);
 
-        return bookRepository.save(book).getId();
+        // Flush here so a concurrent insert of the same ISBN hits the unique constraint inside this call
+        Long id;
+        try {
+            id = bookRepository.saveAndFlush(book).getId();
+        } catch (DataIntegrityViolationException e) {
+            if (isIsbnConflict(e)) {
+                throw new DuplicateResourceException("Book with ISBN " + request.getIsbn() + " already exists");
+            }
+            throw e;
+        }
+        eventPublisher.publishEvent(new BookCreatedEvent(id, author.getId(), request.getIsbn()));
+        eventPublisher.publishEvent(new GenreDeltas()
+                .added(request.getGenre(), request.getAvailableCopies(), request.getPrice())
+                .toEvent());
+        return id;
     }
 
     // 2. Get book by ID
+    @Cacheable(cacheNames = CacheNames.BOOKS, key = "#id")
     public BookDTO getBookById(Long id) {
-        Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Book not found with id: " + id));
+        // Ids recently found missing are answered without a query
+        if (missingIdCache.isBookMissing(id)) {
+            throw new ResourceNotFoundException("Book", id);
+        }
+        Book book = bookRepository.findById(id).orElse(null);
+        if (book == null) {
+            missingIdCache.markBookMissing(id);
+            throw new ResourceNotFoundException("Book", id);
+        }
         return bookMapper.toBookDTO(book);
     }
 
     // 3. Update book
     @Transactional
     public void updateBook(Long id, UpdateBookRequest request) {
+        // A hot title's stock lives in the striped counter; an absolute write here would be undone by the next flush
+        boolean changesStock = request.getAvailableCopies() != null;
+        if (changesStock && hotStockRegistry.isHot(id)) {
+            throw new BusinessException(ErrorCode.HOT_STOCK_LOCKED, id);
+        }
         Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Book not found with id: " + id));
+                .orElseThrow(() -> new ResourceNotFoundException("Book", id));
 
         // If publisher is being updated, validate it exists
         if (request.getPublisherId() != null) {
             Publisher publisher = publisherRepository.findById(request.getPublisherId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Publisher not found with id: " + request.getPublisherId()));
+                    .orElseThrow(() -> new ResourceNotFoundException("Publisher", request.getPublisherId()));
             book.setPublisher(publisher);
         }
 
+        GenreDeltas deltas = new GenreDeltas().removed(book.getGenre(), book.getAvailableCopies(), book.getPrice());
         bookMapper.updateBook(book, request);
         bookRepository.save(book);
+        if (changesStock) {
+            // Re-checked holding the row lock: markHot seeds under the same lock, so it either saw this write or ran first
+            entityManager.flush();
+            if (hotStockRegistry.isHot(id)) {
+                throw new BusinessException(ErrorCode.HOT_STOCK_LOCKED, id);
+            }
+        }
+        eventPublisher.publishEvent(new BookUpdatedEvent(id));
+        eventPublisher.publishEvent(deltas.added(book.getGenre(), book.getAvailableCopies(), book.getPrice()).toEvent());
     }
 
     // 4. Get all books by author
     public List<BookDTO> getBooksByAuthor(Long authorId) {
-        // Validate author exists
-        authorRepository.findById(authorId)
-                .orElseThrow(() -> new ResourceNotFoundException("Author not found with id: " + authorId));
+        if (missingIdCache.isAuthorMissing(authorId)) {
+            throw new ResourceNotFoundException("Author", authorId);
+        }
+        // Single query: no rows means no author, one row with a null id means an author without books
+        List<BookDTO> rows = bookRepository.findBookDTOsByAuthorId(authorId);
+        if (rows.isEmpty()) {
+            missingIdCache.markAuthorMissing(authorId);
+            throw new ResourceNotFoundException("Author", authorId);
+        }
 
-        return bookRepository.findAllByAuthorId(authorId)
-                .stream()
-                .map(bookMapper::toBookDTO)
+        return rows.stream()
+                .filter(row -> row.id() != null)
                 .collect(Collectors.toList());
     }
 
     // 5. Get author with all their books
+    @Cacheable(cacheNames = CacheNames.AUTHORS, key = "#authorId")
     public AuthorDTO getAuthorWithBooks(Long authorId) {
-        Author author = authorRepository.findByIdWithBooks(authorId)
-                .orElseThrow(() -> new ResourceNotFoundException("Author not found with id: " + authorId));
-        return bookMapper.toAuthorDTO(author);
+        if (missingIdCache.isAuthorMissing(authorId)) {
+            throw new ResourceNotFoundException("Author", authorId);
+        }
+        // totalBooks is a COUNT in the same query, the books themselves are never loaded
+        AuthorDTO author = authorRepository.findAuthorDTOById(authorId).orElse(null);
+        if (author == null) {
+            missingIdCache.markAuthorMissing(authorId);
+            throw new ResourceNotFoundException("Author", authorId);
+        }
+        return author;
     }
 
     // 6. Delete book
     @Transactional
     public void deleteBook(Long id) {
-        if (!bookRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Book not found with id: " + id);
+        // Two statements on purpose: the key read (author id, ISBN, genre, stock) feeds cache, ISBN-filter and genre-stats
+        // eviction, and PostgreSQL (DELETE ... RETURNING) and H2 (OLD TABLE) share no syntax for returning deleted rows
+        BookKey key = bookRepository.findKeyById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Book", id));
+        // Zero rows means a concurrent delete won the race
+        if (bookRepository.bulkDeleteByIds(List.of(id)) == 0) {
+            throw new ResourceNotFoundException("Book", id);
+        }
+        eventPublisher.publishEvent(new BookDeletedEvent(id, key.authorId(), key.isbn()));
+        eventPublisher.publishEvent(new GenreDeltas()
+                .removed(key.genre(), key.availableCopies(), key.price())
+                .toEvent());
+    }
+
+    // 7. Keyset-paginated books by author
+    public Window<BookDTO> getBooksByAuthor(Long authorId, ScrollPosition position, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        return toWindow(bookRepository.findBookDTOsByAuthorIdAfter(authorId, lastSeenId(position), Limit.of(pageSize + 1)), pageSize);
+    }
+
+    // 8. Keyset-paginated books by genre
+    public Window<BookDTO> getBooksByGenre(BookGenre genre, ScrollPosition position, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        return toWindow(bookRepository.findBookDTOsByGenreAfter(genre, lastSeenId(position), Limit.of(pageSize + 1)), pageSize);
+    }
+
+    // 9. Keyset-paginated available books
+    public Window<BookDTO> getAvailableBooks(ScrollPosition position, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        return toWindow(bookRepository.findAvailableBookDTOsAfter(lastSeenId(position), Limit.of(pageSize + 1)), pageSize);
+    }
+
+    // 10. Stream every available book without materialising the result set
+    @Transactional(readOnly = true)
+    public void forEachAvailableBook(Consumer<BookDTO> consumer) {
+        try (Stream<BookDTO> books = bookRepository.streamAvailableBookDTOs()) {
+            books.forEach(consumer);
+        }
+    }
+
+    // 11. Bulk import, validated with set-based queries and inserted in JDBC batches
+    @Transactional
+    public List<Long> createBooks(List<CreateBookRequest> requests) {
+        // Check ISBNs are unique within the import and against the catalog
+        Set<String> isbns = new HashSet<>();
+        for (CreateBookRequest request : requests) {
+            if (!isbns.add(request.getIsbn())) {
+                throw new DuplicateResourceException("Book with ISBN " + request.getIsbn() + " appears more than once in the import");
+            }
+        }
+        for (List<String> chunk : chunked(isbns)) {
+            List<String> existing = bookRepository.findExistingIsbns(chunk);
+            if (!existing.isEmpty()) {
+                throw new DuplicateResourceException("Book with ISBN " + existing.getFirst() + " already exists");
+            }
+        }
+
+        // Validate authors and publishers exist
+        Map<Long, Author> authors = findAllById(requests, CreateBookRequest::getAuthorId, authorRepository::findAllById, Author::getId);
+        Map<Long, Publisher> publishers = findAllById(requests, CreateBookRequest::getPublisherId, publisherRepository::findAllById, Publisher::getId);
+
+        // Create books, flushing and clearing every batch so the persistence context stays small
+        List<Long> ids = new ArrayList<>(requests.size());
+        GenreDeltas deltas = new GenreDeltas();
+        int pending = 0;
+        for (CreateBookRequest request : requests) {
+            Author author = authors.get(request.getAuthorId());
+            if (author == null) {
+                throw new ResourceNotFoundException("Author", request.getAuthorId());
+            }
+            Publisher publisher = publishers.get(request.getPublisherId());
+            if (publisher == null) {
+                throw new ResourceNotFoundException("Publisher", request.getPublisherId());
+            }
+
+            Book book = bookMapper.toBook(request);
+            book.setAuthor(author);
+            book.setPublisher(publisher);
+            entityManager.persist(book);
+            ids.add(book.getId());
+            deltas.added(request.getGenre(), request.getAvailableCopies(), request.getPrice());
+
+            if (++pending == importBatchSize) {
+                flushImportBatch();
+                pending = 0;
+            }
+        }
+        flushImportBatch();
+
+        eventPublisher.publishEvent(new BooksImportedEvent(ids, authors.keySet(), isbns));
+        if (!deltas.isEmpty()) {
+            eventPublisher.publishEvent(deltas.toEvent());
+        }
+        return ids;
+    }
+
+    // 12. Reserve copies with one conditional UPDATE, no read-modify-write.
+    // Not @Transactional: hot titles are reserved in memory without opening a transaction or borrowing a connection.
+    public void reserveCopies(Long id, int quantity) {
+        if (quantity <= 0) {
+            throw new BusinessException(ErrorCode.INVALID_QUANTITY);
+        }
+
+        boolean reservedInDatabase;
+        do {
+            // Hot titles are reserved in memory and written back in batches
+            switch (hotStockRegistry.reserve(id, quantity)) {
+                case RESERVED -> {
+                    releaseOnRollback(id, quantity);
+                    return;
+                }
+                case INSUFFICIENT -> throw new BusinessException(ErrorCode.BOOK_OUT_OF_STOCK, id);
+                case NOT_HOT -> {
+                }
+            }
+
+            reservedInDatabase = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (bookRepository.reserveCopies(id, quantity) == 0) {
+                    // Nothing updated: the book is either missing or short of copies
+                    if (!bookRepository.existsById(id)) {
+                        throw new ResourceNotFoundException("Book", id);
+                    }
+                    throw new BusinessException(ErrorCode.BOOK_OUT_OF_STOCK, id);
+                }
+                // The row is locked now: a title marked hot meanwhile was seeded before this UPDATE, so undo it and
+                // reserve in memory (a compensating UPDATE rather than a rollback, which could doom a caller's transaction)
+                if (hotStockRegistry.isHot(id)) {
+                    bookRepository.releaseCopies(id, quantity);
+                    return false;
+                }
+                eventPublisher.publishEvent(new BookUpdatedEvent(id));
+                return true;
+            }));
+        } while (!reservedInDatabase);
+    }
+
+    // 13. Release previously reserved copies.
+    // A hot release is not undone if an enclosing caller's transaction rolls back: the copies stay available.
+    public void releaseCopies(Long id, int quantity) {
+        if (quantity <= 0) {
+            throw new BusinessException(ErrorCode.INVALID_QUANTITY);
+        }
+        boolean releasedInDatabase;
+        do {
+            if (hotStockRegistry.release(id, quantity)) {
+                return;
+            }
+            releasedInDatabase = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (bookRepository.releaseCopies(id, quantity) == 0) {
+                    throw new ResourceNotFoundException("Book", id);
+                }
+                // Marked hot before this UPDATE took the row: the in-memory seed lacks these copies, release them there
+                if (hotStockRegistry.isHot(id)) {
+                    bookRepository.reserveCopies(id, quantity);
+                    return false;
+                }
+                eventPublisher.publishEvent(new BookUpdatedEvent(id));
+                return true;
+            }));
+        } while (!releasedInDatabase);
+    }
+
+    // 14. Move a bestseller's stock into memory for launch-day traffic, and back
+    public void markHot(Long id) {
+        hotStockRegistry.markHot(id);
+    }
+
+    public void unmarkHot(Long id) {
+        hotStockRegistry.unmarkHot(id);
+    }
+
+    public boolean isHot(Long id) {
+        return hotStockRegistry.isHot(id);
+    }
+
+    // 15. Delete a set of books, all or nothing
+    @Transactional
+    public int deleteBooks(Collection<Long> ids) {
+        Set<Long> distinctIds = new HashSet<>(ids);
+        List<BookKey> keys = new ArrayList<>(distinctIds.size());
+        for (List<Long> chunk : chunked(distinctIds)) {
+            keys.addAll(bookRepository.findKeysByIdIn(chunk));
+        }
+        if (keys.size() < distinctIds.size()) {
+            keys.forEach(key -> distinctIds.remove(key.id()));
+            throw new ResourceNotFoundException("Books not found with ids: " + distinctIds);
+        }
+
+        int deleted = 0;
+        for (List<Long> chunk : chunked(keys.stream().map(BookKey::id).toList())) {
+            deleted += bookRepository.bulkDeleteByIds(chunk);
+        }
+        if (deleted < keys.size()) {
+            throw new ResourceNotFoundException("Some books were deleted concurrently, nothing was deleted");
+        }
+        publishBooksDeleted(keys);
+        return deleted;
+    }
+
+    // 16. Delete every book of an author or publisher with one statement
+    @Transactional
+    public int deleteBooksByAuthor(Long authorId) {
+        List<BookKey> keys = bookRepository.findKeysByAuthorId(authorId);
+        int deleted = bookRepository.bulkDeleteByAuthorId(authorId);
+        publishBooksDeleted(keys);
+        return deleted;
+    }
+
+    @Transactional
+    public int deleteBooksByPublisher(Long publisherId) {
+        List<BookKey> keys = bookRepository.findKeysByPublisherId(publisherId);
+        int deleted = bookRepository.bulkDeleteByPublisherId(publisherId);
+        publishBooksDeleted(keys);
+        return deleted;
+    }
+
+    // 17. Delete an author and their books without walking the Author.books cascade
+    @Transactional
+    public void deleteAuthor(Long authorId) {
+        List<BookKey> keys = bookRepository.findKeysByAuthorId(authorId);
+        bookRepository.bulkDeleteByAuthorId(authorId);
+        // Throwing rolls the book delete back as well
+        if (authorRepository.bulkDeleteById(authorId) == 0) {
+            throw new ResourceNotFoundException("Author", authorId);
+        }
+        publishBooksDeleted(keys);
+        eventPublisher.publishEvent(new AuthorDeletedEvent(authorId));
+    }
+
+    // 18. Multi-get for carousels: one joined query per chunk, results in request order
+    public BookBatchDTO getBooksByIds(Collection<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        Map<Long, BookDTO> found = new HashMap<>();
+        for (List<Long> chunk : chunked(distinctIds)) {
+            for (BookDTO dto : bookRepository.findBookDTOsByIdIn(chunk)) {
+                found.put(dto.id(), dto);
+            }
+        }
+
+        List<BookDTO> books = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            BookDTO dto = found.get(id);
+            if (dto != null) {
+                books.add(dto);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new BookBatchDTO(books, missingIds);
+    }
+
+    // 19. Count, total stock and average price per genre, served from memory
+    public List<GenreStatsDTO> getGenreStats() {
+        return genreStatsView.snapshot();
+    }
+
+    private void publishBooksDeleted(List<BookKey> keys) {
+        if (keys.isEmpty()) {
+            return;
         }
-        bookRepository.deleteById(id);
+        List<Long> ids = new ArrayList<>(keys.size());
+        Set<Long> authorIds = new HashSet<>();
+        List<String> isbns = new ArrayList<>(keys.size());
+        GenreDeltas deltas = new GenreDeltas();
+        for (BookKey key : keys) {
+            ids.add(key.id());
+            if (key.authorId() != null) {
+                authorIds.add(key.authorId());
+            }
+            isbns.add(key.isbn());
+            deltas.removed(key.genre(), key.availableCopies(), key.price());
+        }
+        eventPublisher.publishEvent(new BooksDeletedEvent(ids, authorIds, isbns));
+        if (!deltas.isEmpty()) {
+            eventPublisher.publishEvent(deltas.toEvent());
+        }
+    }
+
+    private void flushImportBatch() {
+        try {
+            // Flush through the repository so constraint violations are translated like in createBook
+            bookRepository.flush();
+            entityManager.clear();
+        } catch (DataIntegrityViolationException e) {
+            if (isIsbnConflict(e)) {
+                throw new DuplicateResourceException("A book in the import was created concurrently with the same ISBN");
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isIsbnConflict(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase().contains(Book.ISBN_CONSTRAINT);
+    }
+
+    private static <T> Map<Long, T> findAllById(List<CreateBookRequest> requests,
+                                                Function<CreateBookRequest, Long> idOf,
+                                                Function<List<Long>, List<T>> loader,
+                                                Function<T, Long> idOfEntity) {
+        Set<Long> ids = new HashSet<>();
+        for (CreateBookRequest request : requests) {
+            ids.add(idOf.apply(request));
+        }
+        Map<Long, T> entities = new HashMap<>();
+        for (List<Long> chunk : chunked(ids)) {
+            for (T entity : loader.apply(chunk)) {
+                entities.put(idOfEntity.apply(entity), entity);
+            }
+        }
+        return entities;
+    }
+
+    private static <T> List<List<T>> chunked(Collection<T> values) {
+        List<List<T>> chunks = new ArrayList<>();
+        List<T> chunk = new ArrayList<>(Math.min(values.size(), IN_CLAUSE_CHUNK_SIZE));
+        for (T value : values) {
+            chunk.add(value);
+            if (chunk.size() == IN_CLAUSE_CHUNK_SIZE) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>(IN_CLAUSE_CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    // An in-memory reservation made inside a caller's transaction is handed back if that transaction rolls back
+    private void releaseOnRollback(Long id, int quantity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    hotStockRegistry.release(id, quantity);
+                }
+            }
+        });
+    }
+
+    // Only forward keyset positions over id can be seeked; anything else would silently restart from the first page
+    private static long lastSeenId(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.scrollsBackward()) {
+            throw new IllegalArgumentException("Only forward keyset positions are supported, got: " + position);
+        }
+        if (keyset.isInitial()) {
+            return 0L;
+        }
+        if (!(keyset.getKeys().get("id") instanceof Number id)) {
+            throw new IllegalArgumentException("Keyset position must carry the last seen id, got: " + keyset.getKeys());
+        }
+        return id.longValue();
+    }
+
+    // Pages are fetched with one extra row so that hasNext needs no count query
+    private static Window<BookDTO> toWindow(List<BookDTO> rows, int pageSize) {
+        boolean hasNext = rows.size() > pageSize;
+        List<BookDTO> content = hasNext ? rows.subList(0, pageSize) : rows;
+        return Window.from(content, index -> ScrollPosition.forward(Map.of("id", content.get(index).id())), hasNext);
     }
 }
\ No newline at end of file
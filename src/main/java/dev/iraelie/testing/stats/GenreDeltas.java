@@ -0,0 +1,39 @@
+package dev.iraelie.testing.stats;
+
+import dev.iraelie.testing.event.GenreStatsChangedEvent;
+import dev.iraelie.testing.model.BookGenre;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Collects the per-genre effect of one write so it can be published as a single event.
+ * Books without a genre are not part of the statistics.
+ */
+public final class GenreDeltas {
+
+    private final Map<BookGenre, GenreTotals> deltas = new EnumMap<>(BookGenre.class);
+
+    public GenreDeltas added(BookGenre genre, Integer availableCopies, Double price) {
+        if (genre != null) {
+            deltas.merge(genre, GenreTotals.ofBook(genre, availableCopies, price), GenreTotals::plus);
+        }
+        return this;
+    }
+
+    public GenreDeltas removed(BookGenre genre, Integer availableCopies, Double price) {
+        if (genre != null) {
+            deltas.merge(genre, GenreTotals.ofBook(genre, availableCopies, price).negate(), GenreTotals::plus);
+        }
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return deltas.isEmpty();
+    }
+
+    public GenreStatsChangedEvent toEvent() {
+        return new GenreStatsChangedEvent(new ArrayList<>(deltas.values()));
+    }
+}
@@ -0,0 +1,106 @@
+package dev.iraelie.testing.stats;
+
+import dev.iraelie.testing.dtos.GenreStatsDTO;
+import dev.iraelie.testing.event.GenreStatsChangedEvent;
+import dev.iraelie.testing.model.BookGenre;
+import dev.iraelie.testing.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-genre statistics held in memory: loaded with one GROUP BY, then moved by the deltas that
+ * create, update and delete publish after commit, so reads cost O(#genres).
+ * <p>
+ * Stock changed through reserve/release and the hot-stock write-behind is not published as a
+ * delta; it is picked up by the periodic reconciliation.
+ * <p>
+ * Each reload bumps a generation when it swaps the totals in. A delta remembers the generation
+ * at publish time, before its transaction commits, and is dropped if a reload swapped in
+ * between: that reload's GROUP BY may already count the commit, so applying the delta could
+ * count it twice. A dropped delta whose commit the GROUP BY missed, like a delta applied just
+ * before a swap, is lost until the next reconciliation; totals are never over-counted.
+ */
+@Slf4j
+@Component
+public class GenreStatsView {
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Map<BookGenre, GenreTotals> totals = new EnumMap<>(BookGenre.class);
+    private long generation;
+
+    public GenreStatsView(BookRepository bookRepository, PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.books.genre-stats.reconcile-interval-ms:60000}",
+            initialDelayString = "${app.books.genre-stats.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        List<GenreTotals> current = readOnlyTransaction.execute(status -> bookRepository.findGenreTotals());
+        synchronized (totals) {
+            totals.clear();
+            current.forEach(genreTotals -> totals.put(genreTotals.genre(), genreTotals));
+            generation++;
+        }
+        log.debug("Genre statistics reconciled for {} genres", current.size());
+    }
+
+    // Runs when the writer publishes, still inside its transaction, and applies the delta once it commits
+    @EventListener
+    public void onGenreStatsChanged(GenreStatsChangedEvent event) {
+        long publishedIn;
+        synchronized (totals) {
+            publishedIn = generation;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(event, publishedIn);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(event, publishedIn);
+            }
+        });
+    }
+
+    private void apply(GenreStatsChangedEvent event, long publishedIn) {
+        synchronized (totals) {
+            if (generation != publishedIn) {
+                log.debug("Dropped a genre statistics delta published before the last reload");
+                return;
+            }
+            event.deltas().forEach(delta -> totals.merge(delta.genre(), delta, GenreTotals::plus));
+        }
+    }
+
+    // Genres without books are left out, like the GROUP BY
+    public List<GenreStatsDTO> snapshot() {
+        List<GenreStatsDTO> stats = new ArrayList<>(BookGenre.values().length);
+        synchronized (totals) {
+            for (GenreTotals genreTotals : totals.values()) {
+                if (genreTotals.bookCount() > 0) {
+                    stats.add(genreTotals.toDTO());
+                }
+            }
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,33 @@
+package dev.iraelie.testing.stats;
+
+import dev.iraelie.testing.dtos.GenreStatsDTO;
+import dev.iraelie.testing.model.BookGenre;
+
+/**
+ * Additive aggregates of one genre. Keeping the price sum and the number of priced books
+ * (instead of the average) lets deltas be added and subtracted exactly like SQL AVG sees them.
+ */
+public record GenreTotals(BookGenre genre, Long bookCount, Long totalCopies, Double priceSum, Long pricedCount) {
+
+    public static GenreTotals empty(BookGenre genre) {
+        return new GenreTotals(genre, 0L, 0L, 0.0, 0L);
+    }
+
+    public static GenreTotals ofBook(BookGenre genre, Integer availableCopies, Double price) {
+        return new GenreTotals(genre, 1L, availableCopies != null ? availableCopies : 0L,
+                price != null ? price : 0.0, price != null ? 1L : 0L);
+    }
+
+    public GenreTotals plus(GenreTotals other) {
+        return new GenreTotals(genre, bookCount + other.bookCount, totalCopies + other.totalCopies,
+                priceSum + other.priceSum, pricedCount + other.pricedCount);
+    }
+
+    public GenreTotals negate() {
+        return new GenreTotals(genre, -bookCount, -totalCopies, -priceSum, -pricedCount);
+    }
+
+    public GenreStatsDTO toDTO() {
+        return new GenreStatsDTO(genre, bookCount, totalCopies, pricedCount > 0 ? priceSum / pricedCount : null);
+    }
+}
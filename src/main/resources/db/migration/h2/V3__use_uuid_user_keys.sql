@@ -0,0 +1,41 @@
+-- User and role keys become native uuid; new keys are UUIDv7 from Hibernate.
+-- H2 only holds test and local data, so the user tables are recreated rather than converted in place
+-- (PostgreSQL converts the existing rows, see postgresql/V5).
+DROP TABLE users_roles;
+DROP TABLE users;
+DROP TABLE roles;
+
+CREATE TABLE roles (
+    id                 UUID         NOT NULL PRIMARY KEY,
+    created_date       TIMESTAMP(6) NOT NULL,
+    last_modified_date TIMESTAMP(6),
+    created_by         VARCHAR(255) NOT NULL,
+    last_modified_by   VARCHAR(255),
+    name               VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE users (
+    id                    UUID         NOT NULL PRIMARY KEY,
+    first_name            VARCHAR(255) NOT NULL,
+    last_name             VARCHAR(255) NOT NULL,
+    email                 VARCHAR(255) NOT NULL UNIQUE,
+    phone_number          VARCHAR(255) NOT NULL UNIQUE,
+    password              VARCHAR(255) NOT NULL,
+    date_of_birth         DATE,
+    is_enabled            BOOLEAN      NOT NULL DEFAULT FALSE,
+    is_account_locked     BOOLEAN      NOT NULL DEFAULT FALSE,
+    is_crendetial_expired BOOLEAN      NOT NULL DEFAULT FALSE,
+    is_email_verified     BOOLEAN      NOT NULL DEFAULT FALSE,
+    profile_picture_url   VARCHAR(255),
+    is_phone_verified     BOOLEAN      NOT NULL DEFAULT FALSE,
+    created_date          TIMESTAMP(6) NOT NULL,
+    last_modified_date    TIMESTAMP(6)
+);
+
+CREATE TABLE users_roles (
+    users_id UUID NOT NULL REFERENCES users (id),
+    roles_id UUID NOT NULL REFERENCES roles (id)
+);
+
+CREATE INDEX idx_users_roles_users_id ON users_roles (users_id);
+CREATE INDEX idx_users_roles_roles_id ON users_roles (roles_id);
@@ -0,0 +1,66 @@
+-- Baseline schema matching the JPA mappings; sequences step by the entities' allocationSize of 50
+
+CREATE SEQUENCE author_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE publisher_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE book_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE author (
+    id         BIGINT       NOT NULL PRIMARY KEY,
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    email      VARCHAR(255),
+    country    VARCHAR(255)
+);
+
+CREATE TABLE publisher (
+    id      BIGINT       NOT NULL PRIMARY KEY,
+    name    VARCHAR(255),
+    address VARCHAR(255),
+    website VARCHAR(255)
+);
+
+CREATE TABLE book (
+    id               BIGINT       NOT NULL PRIMARY KEY,
+    title            VARCHAR(255),
+    isbn             VARCHAR(255) NOT NULL,
+    publication_year INTEGER,
+    available_copies INTEGER,
+    price            FLOAT(53),
+    genre            VARCHAR(255) CHECK (genre IN ('FICTION', 'NON_FICTION', 'SCIENCE', 'HISTORY', 'BIOGRAPHY',
+                                                   'FANTASY', 'MYSTERY', 'ROMANCE', 'THRILLER')),
+    author_id        BIGINT REFERENCES author (id),
+    publisher_id     BIGINT REFERENCES publisher (id),
+    CONSTRAINT uk_book_isbn UNIQUE (isbn)
+);
+
+CREATE TABLE roles (
+    id                 VARCHAR(255) NOT NULL PRIMARY KEY,
+    created_date       TIMESTAMP(6) NOT NULL,
+    last_modified_date TIMESTAMP(6),
+    created_by         VARCHAR(255) NOT NULL,
+    last_modified_by   VARCHAR(255),
+    name               VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE users (
+    id                    VARCHAR(255) NOT NULL PRIMARY KEY,
+    first_name            VARCHAR(255) NOT NULL,
+    last_name             VARCHAR(255) NOT NULL,
+    email                 VARCHAR(255) NOT NULL UNIQUE,
+    phone_number          VARCHAR(255) NOT NULL UNIQUE,
+    password              VARCHAR(255) NOT NULL,
+    date_of_birth         DATE,
+    is_enabled            BOOLEAN      NOT NULL DEFAULT FALSE,
+    is_account_locked     BOOLEAN      NOT NULL DEFAULT FALSE,
+    is_crendetial_expired BOOLEAN      NOT NULL DEFAULT FALSE,
+    is_email_verified     BOOLEAN      NOT NULL DEFAULT FALSE,
+    profile_picture_url   VARCHAR(255),
+    is_phone_verified     BOOLEAN      NOT NULL DEFAULT FALSE,
+    created_date          TIMESTAMP(6) NOT NULL,
+    last_modified_date    TIMESTAMP(6)
+);
+
+CREATE TABLE users_roles (
+    users_id VARCHAR(255) NOT NULL REFERENCES users (id),
+    roles_id VARCHAR(255) NOT NULL REFERENCES roles (id)
+);
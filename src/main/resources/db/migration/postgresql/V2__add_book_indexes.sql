@@ -0,0 +1,17 @@
+-- One index per BookRepository access path; uk_book_isbn already covers the ISBN lookups.
+
+-- findAllByAuthorId, findKeysByAuthorId, bulkDeleteByAuthorId and the (author_id, id) keyset pages
+CREATE INDEX idx_book_author_id_id ON book (author_id, id);
+
+-- findKeysByPublisherId, bulkDeleteByPublisherId and the publisher foreign key
+CREATE INDEX idx_book_publisher_id ON book (publisher_id);
+
+-- findAllByGenre and the (genre, id) keyset pages
+CREATE INDEX idx_book_genre_id ON book (genre, id);
+
+-- findAllAvailableBooks and the available-books keyset pages; sold-out titles stay out of the index
+CREATE INDEX idx_book_available_id ON book (id) WHERE available_copies > 0;
+
+-- The join table is probed from both sides
+CREATE INDEX idx_users_roles_users_id ON users_roles (users_id);
+CREATE INDEX idx_users_roles_roles_id ON users_roles (roles_id);
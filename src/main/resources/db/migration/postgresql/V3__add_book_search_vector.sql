@@ -0,0 +1,31 @@
+-- Full-text search for PostgresBookSearchIndex: the title (weight A) and the author name (weight B)
+-- are kept in book.search_vector by triggers, so a search never needs to join author.
+
+ALTER TABLE book ADD COLUMN search_vector tsvector;
+
+CREATE FUNCTION book_search_vector_refresh() RETURNS trigger AS $$
+BEGIN
+    NEW.search_vector :=
+            setweight(to_tsvector('simple', coalesce(NEW.title, '')), 'A') ||
+            setweight(to_tsvector('simple', coalesce(
+                    (SELECT a.first_name || ' ' || a.last_name FROM author a WHERE a.id = NEW.author_id), '')), 'B');
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER book_search_vector_trigger
+    BEFORE INSERT OR UPDATE OF title, author_id ON book
+    FOR EACH ROW EXECUTE FUNCTION book_search_vector_refresh();
+
+CREATE FUNCTION author_search_vector_refresh() RETURNS trigger AS $$
+BEGIN
+    UPDATE book SET title = title WHERE author_id = NEW.id;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER author_search_vector_trigger
+    AFTER UPDATE OF first_name, last_name ON author
+    FOR EACH ROW EXECUTE FUNCTION author_search_vector_refresh();
+
+CREATE INDEX idx_book_search_vector ON book USING GIN (search_vector);
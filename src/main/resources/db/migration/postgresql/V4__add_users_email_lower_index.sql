@@ -0,0 +1,3 @@
+-- UserRepository.findWithRolesByEmailIgnoreCase compares LOWER(email); the unique constraint on email cannot serve it.
+-- H2 has no expression indexes, so this migration is PostgreSQL only.
+CREATE INDEX idx_users_email_lower ON users (LOWER(email));
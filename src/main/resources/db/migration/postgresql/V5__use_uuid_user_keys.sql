@@ -0,0 +1,15 @@
+-- User and role keys become native uuid (16 bytes instead of 36+ characters); new keys are UUIDv7 from Hibernate.
+-- Existing ids were generated as random UUID text, so they cast in place; the primary key and join-table indexes
+-- are rebuilt by the type change. The join table references both sides, so its foreign keys are dropped and restored.
+ALTER TABLE users_roles DROP CONSTRAINT users_roles_users_id_fkey;
+ALTER TABLE users_roles DROP CONSTRAINT users_roles_roles_id_fkey;
+
+ALTER TABLE users ALTER COLUMN id TYPE uuid USING id::uuid;
+ALTER TABLE roles ALTER COLUMN id TYPE uuid USING id::uuid;
+ALTER TABLE users_roles
+    ALTER COLUMN users_id TYPE uuid USING users_id::uuid,
+    ALTER COLUMN roles_id TYPE uuid USING roles_id::uuid;
+
+ALTER TABLE users_roles
+    ADD CONSTRAINT fk_users_roles_users_id FOREIGN KEY (users_id) REFERENCES users (id),
+    ADD CONSTRAINT fk_users_roles_roles_id FOREIGN KEY (roles_id) REFERENCES roles (id);
@@ -0,0 +1,69 @@
+package dev.iraelie.testing.cache;
+
+import dev.iraelie.testing.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ISBN Bloom filter tests")
+@ExtendWith(MockitoExtension.class)
+class IsbnBloomFilterTest {
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IsbnBloomFilter isbnFilter;
+
+    @BeforeEach
+    void setup() {
+        this.isbnFilter = new IsbnBloomFilter(this.bookRepository, this.transactionManager, 10_000, 0.01);
+    }
+
+    @Test
+    @DisplayName("Answers maybe for everything until warmed up")
+    void shouldBeConservativeBeforeWarmUp() {
+        assertTrue(this.isbnFilter.mightContain("9780000000001"));
+    }
+
+    @Test
+    @DisplayName("Knows the ISBNs loaded at warm-up and rules out new ones")
+    void shouldContainWarmedIsbns() {
+        // Given
+        when(this.bookRepository.streamAllIsbns())
+                .thenReturn(Stream.of("9780000000001", "9780000000002"));
+
+        // When
+        this.isbnFilter.warmUp();
+
+        // Then
+        assertTrue(this.isbnFilter.mightContain("9780000000001"));
+        assertTrue(this.isbnFilter.mightContain("9780000000002"));
+        assertFalse(this.isbnFilter.mightContain("9780000000003"));
+    }
+
+    @Test
+    @DisplayName("Forgets an ISBN once it is removed")
+    void shouldForgetRemovedIsbn() {
+        // Given
+        when(this.bookRepository.streamAllIsbns())
+                .thenReturn(Stream.empty());
+        this.isbnFilter.warmUp();
+        this.isbnFilter.add("9780000000001");
+
+        // When
+        this.isbnFilter.remove("9780000000001");
+
+        // Then
+        assertFalse(this.isbnFilter.mightContain("9780000000001"));
+    }
+}
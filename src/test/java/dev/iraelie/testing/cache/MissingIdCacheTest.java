@@ -0,0 +1,64 @@
+package dev.iraelie.testing.cache;
+
+import dev.iraelie.testing.model.Author;
+import dev.iraelie.testing.model.Book;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Missing id cache tests")
+class MissingIdCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MissingIdCache missingIdCache;
+
+    @BeforeEach
+    void setup() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.missingIdCache = new MissingIdCache(this.meterRegistry, Duration.ofSeconds(30), 1_000);
+    }
+
+    @Test
+    @DisplayName("Remembers a missed id and counts the negative hit")
+    void shouldRememberMissedId() {
+        // Given
+        this.missingIdCache.markBookMissing(404L);
+
+        // When
+        boolean missing = this.missingIdCache.isBookMissing(404L);
+
+        // Then
+        assertTrue(missing);
+        assertFalse(this.missingIdCache.isBookMissing(405L));
+        assertFalse(this.missingIdCache.isAuthorMissing(404L));
+        assertEquals(1.0, this.meterRegistry.get("cache.gets")
+                .tag("cache", "missing-books").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Forgets an id once an entity is persisted with it")
+    void shouldForgetIdOnPersist() {
+        // Given
+        MissingIdInvalidator invalidator = new MissingIdInvalidator(this.missingIdCache);
+        Book book = new Book();
+        book.setId(404L);
+        Author author = new Author();
+        author.setId(405L);
+        this.missingIdCache.markBookMissing(404L);
+        this.missingIdCache.markAuthorMissing(405L);
+
+        // When
+        invalidator.onPersisted(book);
+        invalidator.onPersisted(author);
+
+        // Then
+        assertFalse(this.missingIdCache.isBookMissing(404L));
+        assertFalse(this.missingIdCache.isAuthorMissing(405L));
+    }
+}
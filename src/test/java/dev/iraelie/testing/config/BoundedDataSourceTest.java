@@ -0,0 +1,73 @@
+package dev.iraelie.testing.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Bounded DataSource tests")
+@ExtendWith(MockitoExtension.class)
+class BoundedDataSourceTest {
+    @Mock
+    private DataSource targetDataSource;
+    @Mock
+    private Connection connection;
+
+    private BoundedDataSource boundedDataSource;
+
+    @BeforeEach
+    void setup() {
+        this.boundedDataSource = new BoundedDataSource(this.targetDataSource, 1, 50);
+    }
+
+    @Test
+    @DisplayName("Fails fast once every permit is held")
+    void shouldTimeOutWhenNoPermitIsAvailable() throws SQLException {
+        // Given
+        when(this.targetDataSource.getConnection()).thenReturn(this.connection);
+        this.boundedDataSource.getConnection();
+
+        // When / Then
+        assertThrows(SQLTransientConnectionException.class, () -> this.boundedDataSource.getConnection());
+        verify(this.targetDataSource, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Returns the permit once, even when close is called twice")
+    void shouldReleasePermitOnClose() throws SQLException {
+        // Given
+        when(this.targetDataSource.getConnection()).thenReturn(this.connection);
+        Connection handedOut = this.boundedDataSource.getConnection();
+
+        // When
+        handedOut.close();
+        handedOut.close();
+
+        // Then
+        assertEquals(1, this.boundedDataSource.availablePermits());
+        assertTrue(handedOut.isClosed());
+    }
+
+    @Test
+    @DisplayName("Returns the permit when the pool itself fails")
+    void shouldReleasePermitWhenTargetFails() throws SQLException {
+        // Given
+        when(this.targetDataSource.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        // When
+        assertThrows(SQLException.class, () -> this.boundedDataSource.getConnection());
+
+        // Then
+        assertEquals(1, this.boundedDataSource.availablePermits());
+    }
+}
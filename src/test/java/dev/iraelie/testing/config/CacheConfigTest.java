@@ -0,0 +1,54 @@
+package dev.iraelie.testing.config;
+
+import dev.iraelie.testing.cache.CacheNames;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Cache configuration tests")
+@ActiveProfiles("test")
+@SpringBootTest
+class CacheConfigTest {
+
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Serves the DTO caches from Caffeine, not from the JCache provider behind the L2 cache")
+    void shouldUseCaffeineForSpringCaches() {
+        assertInstanceOf(CaffeineCacheManager.class, this.cacheManager);
+        assertNotNull(this.cacheManager.getCache(CacheNames.BOOKS));
+        assertNotNull(this.cacheManager.getCache(CacheNames.AUTHORS));
+    }
+
+    @Test
+    @DisplayName("Exports hit counts for the DTO caches as cache.gets")
+    void shouldExportCacheHits() {
+        // Given
+        Cache books = this.cacheManager.getCache(CacheNames.BOOKS);
+        FunctionCounter hits = this.meterRegistry.get("cache.gets")
+                .tag("cache", CacheNames.BOOKS).tag("result", "hit")
+                .functionCounter();
+        double before = hits.count();
+        books.put(-1L, "cached");
+
+        // When
+        books.get(-1L);
+
+        // Then
+        assertEquals(before + 1, hits.count());
+        assertNotNull(this.meterRegistry.find("cache.gets").tag("cache", CacheNames.AUTHORS).functionCounter());
+        books.evict(-1L);
+    }
+}
@@ -0,0 +1,85 @@
+package dev.iraelie.testing.exception;
+
+import dev.iraelie.testing.dtos.ErrorResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Global exception handler tests")
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    @DisplayName("Business and not-found exceptions capture no stack trace")
+    void shouldNotCaptureStackTraces() {
+        assertEquals(0, new BusinessException(ErrorCode.INVALID_QUANTITY).getStackTrace().length);
+        assertEquals(0, new ResourceNotFoundException("Book", 42L).getStackTrace().length);
+        assertEquals(0, new DuplicateResourceException("Book with ISBN 1 already exists").getStackTrace().length);
+    }
+
+    @Test
+    @DisplayName("Server-error business exceptions keep their stack trace and cause")
+    void shouldCaptureStackTracesForServerErrors() {
+        // Given
+        IllegalStateException cause = new IllegalStateException("SMTP server unavailable");
+
+        // When
+        BusinessException exception = new BusinessException(ErrorCode.ERR_SENDING_ACTIVATION_EMAIL, cause);
+
+        // Then
+        assertTrue(exception.getStackTrace().length > 0);
+        assertSame(cause, exception.getCause());
+        assertTrue(new BusinessException(ErrorCode.INTERNAL_EXCEPTION).getStackTrace().length > 0);
+    }
+
+    @Test
+    @DisplayName("Formats the message only when it is read")
+    void shouldFormatMessagesLazily() {
+        assertEquals("Book not found with id: 42", new ResourceNotFoundException("Book", 42L).getMessage());
+        assertEquals("Not enough copies available for book with id: 7",
+                new BusinessException(ErrorCode.BOOK_OUT_OF_STOCK, 7L).getMessage());
+    }
+
+    @Test
+    @DisplayName("Answers argument-free codes with the shared constant body")
+    void shouldReuseConstantBodies() {
+        // When
+        ResponseEntity<ErrorResponse> first = this.handler.handleBusinessException(new BusinessException(ErrorCode.INVALID_QUANTITY));
+        ResponseEntity<ErrorResponse> second = this.handler.handleBusinessException(new BusinessException(ErrorCode.INVALID_QUANTITY));
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, first.getStatusCode());
+        assertEquals(new ErrorResponse("ERR_INVALID_QUANTITY", "Quantity must be greater than zero"), first.getBody());
+        assertSame(first.getBody(), second.getBody());
+    }
+
+    @Test
+    @DisplayName("Maps not-found to 404 with the resource and id")
+    void shouldMapNotFound() {
+        // When
+        ResponseEntity<ErrorResponse> response = this.handler.handleResourceNotFound(new ResourceNotFoundException("Author", 3L));
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(new ErrorResponse("ERR_RESOURCE_NOT_FOUND", "Author not found with id: 3"), response.getBody());
+    }
+
+    @Test
+    @DisplayName("Answers every failed sign-in with the same 401 body")
+    void shouldHideWhySignInFailed() {
+        // When
+        ResponseEntity<ErrorResponse> badPassword = this.handler.handleAuthenticationFailure(new BadCredentialsException("Bad credentials"));
+        ResponseEntity<ErrorResponse> disabled = this.handler.handleAuthenticationFailure(new DisabledException("User is disabled"));
+
+        // Then
+        assertEquals(HttpStatus.UNAUTHORIZED, badPassword.getStatusCode());
+        assertEquals("BAD_CREDENTIALS", badPassword.getBody().code());
+        assertSame(badPassword.getBody(), disabled.getBody());
+    }
+}
@@ -0,0 +1,67 @@
+package dev.iraelie.testing.inventory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Striped stock counter tests")
+class StripedStockCounterTest {
+
+    @Test
+    @DisplayName("Spreads the initial stock without losing any")
+    void shouldKeepInitialStock() {
+        StripedStockCounter counter = new StripedStockCounter(1_003, 8);
+
+        assertEquals(1_003, counter.available());
+    }
+
+    @Test
+    @DisplayName("Gathers stock from several stripes for a large reservation")
+    void shouldAcquireAcrossStripes() {
+        // Given
+        StripedStockCounter counter = new StripedStockCounter(80, 8);
+
+        // When / Then
+        assertTrue(counter.tryAcquire(75));
+        assertEquals(5, counter.available());
+        assertFalse(counter.tryAcquire(6));
+        assertEquals(5, counter.available());
+    }
+
+    @Test
+    @DisplayName("Never hands out more than the stock under contention")
+    void shouldNeverOversell() throws Exception {
+        // Given
+        StripedStockCounter counter = new StripedStockCounter(10_000, 8);
+        AtomicLong acquired = new AtomicLong();
+        List<Future<?>> workers = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int t = 0; t < 16; t++) {
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        if (counter.tryAcquire(1)) {
+                            acquired.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+
+        // Then
+        assertEquals(10_000, acquired.get());
+        assertEquals(0, counter.available());
+    }
+}
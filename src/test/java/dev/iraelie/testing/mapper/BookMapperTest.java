@@ -0,0 +1,90 @@
+package dev.iraelie.testing.mapper;
+
+import dev.iraelie.testing.dtos.BookDTO;
+import dev.iraelie.testing.model.Author;
+import dev.iraelie.testing.model.Book;
+import dev.iraelie.testing.model.BookGenre;
+import dev.iraelie.testing.model.Publisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Book mapper tests")
+class BookMapperTest {
+    private final BookMapper bookMapper = new BookMapper();
+
+    private Author author;
+    private Book first;
+    private Book second;
+
+    @BeforeEach
+    void setup() {
+        this.author = Author.builder()
+                .id(2L)
+                .firstName("John")
+                .lastName("Doe")
+                .books(new ArrayList<>())
+                .build();
+        Publisher publisher = Publisher.builder()
+                .id(3L)
+                .name("Amazon")
+                .build();
+        this.first = Book.builder()
+                .id(1L)
+                .title("Master System design")
+                .isbn("5155172381")
+                .publicationYear(2026)
+                .availableCopies(200)
+                .price(49.9)
+                .genre(BookGenre.SCIENCE)
+                .author(this.author)
+                .publisher(publisher)
+                .build();
+        this.second = Book.builder()
+                .id(4L)
+                .title("Effective Java")
+                .author(this.author)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Maps every field of the book")
+    void shouldMapBook() {
+        // When
+        BookDTO dto = this.bookMapper.toBookDTO(this.first);
+
+        // Then
+        assertEquals(new BookDTO(1L, "Master System design", "5155172381", 2026, 200, 49.9,
+                BookGenre.SCIENCE, "John Doe", "Amazon"), dto);
+    }
+
+    @Test
+    @DisplayName("Shares one author display name across the author's books")
+    void shouldReuseAuthorName() {
+        // When
+        String firstName = this.bookMapper.toBookDTO(this.first).authorName();
+        String secondName = this.bookMapper.toBookDTO(this.second).authorName();
+
+        // Then
+        assertSame(firstName, secondName);
+        assertNull(this.bookMapper.toBookDTO(this.second).publisherName());
+    }
+
+    @Test
+    @DisplayName("Picks up a renamed author")
+    void shouldNotServeStaleAuthorName() {
+        // Given
+        this.bookMapper.toBookDTO(this.first);
+        this.author.setLastName("Smith");
+
+        // When
+        BookDTO dto = this.bookMapper.toBookDTO(this.first);
+
+        // Then
+        assertEquals("John Smith", dto.authorName());
+    }
+}
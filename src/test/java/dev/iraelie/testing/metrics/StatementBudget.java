@@ -0,0 +1,38 @@
+package dev.iraelie.testing.metrics;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query-count assertions for Spring tests: {@code StatementBudget.assertAtMost(1, () -> service.call())}
+ * fails with the captured SQL when the call issues more statements than allowed. Counts what
+ * {@link StatementCounter} sees on the calling thread, including after-commit listeners that run on it.
+ */
+public final class StatementBudget {
+
+    private StatementBudget() {
+    }
+
+    public static <T> T assertAtMost(int maxStatements, Supplier<T> call) {
+        StatementCounter.reset();
+        StatementCounter.record();
+        try {
+            T result = call.get();
+            List<String> statements = StatementCounter.recorded();
+            assertTrue(statements.size() <= maxStatements, () -> "Expected at most " + maxStatements
+                    + " SQL statements but " + statements.size() + " ran:\n" + String.join("\n", statements));
+            return result;
+        } finally {
+            StatementCounter.reset();
+        }
+    }
+
+    public static void assertAtMost(int maxStatements, Runnable call) {
+        assertAtMost(maxStatements, () -> {
+            call.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package dev.iraelie.testing.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Statement metrics filter tests")
+class StatementMetricsFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private StatementMetricsFilter filter;
+
+    @BeforeEach
+    void setup() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.filter = new StatementMetricsFilter(this.meterRegistry, 2, 1.0);
+    }
+
+    @Test
+    @DisplayName("Records the statements of one request under its URI template")
+    void shouldRecordStatementsPerRequest() throws Exception {
+        // Given
+        StatementCounter inspector = new StatementCounter();
+        inspector.inspect("select 1");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/books/42");
+
+        // When
+        this.filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/books/{id}");
+            inspector.inspect("select b from book b where b.id = ?");
+            inspector.inspect("select a from author a where a.id = ?");
+        });
+
+        // Then
+        DistributionSummary summary = this.meterRegistry.get("http.server.requests.jdbc.statements")
+                .tag("uri", "/api/v1/books/{id}")
+                .summary();
+        assertEquals(1, summary.count());
+        assertEquals(2.0, summary.totalAmount());
+        assertEquals(0, StatementCounter.count());
+    }
+
+    @Test
+    @DisplayName("Records repeated requests to one URI template on the same meter")
+    void shouldReuseMeterAcrossRequests() throws Exception {
+        // Given
+        StatementCounter inspector = new StatementCounter();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            this.filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/books/" + i), new MockHttpServletResponse(),
+                    (req, res) -> {
+                        req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/books/{id}");
+                        inspector.inspect("select b from book b where b.id = ?");
+                    });
+        }
+
+        // Then
+        assertEquals(1, this.meterRegistry.find("http.server.requests.jdbc.statements").summaries().size());
+        DistributionSummary summary = this.meterRegistry.get("http.server.requests.jdbc.statements")
+                .tags("method", "GET", "uri", "/api/v1/books/{id}")
+                .summary();
+        assertEquals(3, summary.count());
+        assertEquals(3.0, summary.totalAmount());
+    }
+
+    @Test
+    @DisplayName("Counts requests over the statement budget")
+    void shouldCountRequestsOverBudget() throws Exception {
+        // Given
+        StatementCounter inspector = new StatementCounter();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/books");
+
+        // When
+        this.filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/books");
+            inspector.inspect("select b from book b");
+            for (int i = 0; i < 3; i++) {
+                inspector.inspect("select a from author a where a.id = ?");
+            }
+        });
+
+        // Then
+        assertEquals(1.0, this.meterRegistry.get("http.server.requests.jdbc.over.budget")
+                .tag("uri", "/api/v1/books")
+                .counter()
+                .count());
+        assertTrue(StatementCounter.recorded().isEmpty());
+    }
+}
@@ -0,0 +1,151 @@
+package dev.iraelie.testing.repository;
+
+import dev.iraelie.testing.model.BookGenre;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs each selective {@link BookRepository} query against a seeded PostgreSQL, captures the SQL
+ * Hibernate generated and fails if its plan scans the whole book table. Parameters stay
+ * placeholders ({@code EXPLAIN (GENERIC_PLAN)}, PostgreSQL 16+), so the check holds for any
+ * bound value rather than one lucky literal.
+ * <p>
+ * Not covered on purpose: findAllByGenre, findAllAvailableBooks and the stream methods read a
+ * large share of the table, where a sequential scan is the right plan.
+ */
+@DisplayName("Book repository query plan tests")
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=dev.iraelie.testing.repository.RecordingStatementInspector",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookRepositoryQueryPlanTest {
+    private static final Pattern BOOK_SEQ_SCAN = Pattern.compile("Seq Scan on book\\b");
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\?");
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:17-alpine");
+
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    void seed() {
+        this.jdbcTemplate.execute("""
+                INSERT INTO publisher (id, name, address, website)
+                SELECT g, 'Publisher ' || g, 'Street ' || g, 'https://publisher' || g || '.example'
+                FROM generate_series(1, 500) g
+                """);
+        this.jdbcTemplate.execute("""
+                INSERT INTO author (id, first_name, last_name, email, country)
+                SELECT g, 'First' || g, 'Last' || g, 'author' || g || '@example.com', 'Country' || g % 50
+                FROM generate_series(1, 5000) g
+                """);
+        this.jdbcTemplate.execute("""
+                INSERT INTO book (id, title, isbn, publication_year, available_copies, price, genre, author_id, publisher_id)
+                SELECT g, 'Title ' || g, '978' || lpad(g::text, 10, '0'), 1950 + g % 75, g % 20, 5 + (g % 9500) / 100.0,
+                       (ARRAY['FICTION', 'NON_FICTION', 'SCIENCE', 'HISTORY', 'BIOGRAPHY',
+                              'FANTASY', 'MYSTERY', 'ROMANCE', 'THRILLER'])[g % 9 + 1],
+                       g % 5000 + 1, g % 500 + 1
+                FROM generate_series(1, 200000) g
+                """);
+        this.jdbcTemplate.execute("ANALYZE");
+    }
+
+    static Stream<Arguments> selectiveQueries() {
+        return Stream.of(
+                query("findByIsbn", repository -> repository.findByIsbn("9780000000042")),
+                query("existsByIsbn", repository -> repository.existsByIsbn("9780000000042")),
+                query("findExistingIsbns", repository -> repository.findExistingIsbns(List.of("9780000000042", "9780000000043"))),
+                query("findAllByAuthorId", repository -> repository.findAllByAuthorId(42L)),
+                query("findBookDTOsByAuthorId", repository -> repository.findBookDTOsByAuthorId(42L)),
+                query("findBookDTOsByIdIn", repository -> repository.findBookDTOsByIdIn(List.of(1L, 2L, 3L))),
+                query("findAvailableCopiesById", repository -> repository.findAvailableCopiesById(42L)),
+                query("lockAvailableCopiesById", repository -> repository.lockAvailableCopiesById(42L)),
+                query("findKeyById", repository -> repository.findKeyById(42L)),
+                query("findKeysByIdIn", repository -> repository.findKeysByIdIn(List.of(1L, 2L, 3L))),
+                query("findKeysByAuthorId", repository -> repository.findKeysByAuthorId(42L)),
+                query("findKeysByPublisherId", repository -> repository.findKeysByPublisherId(42L)),
+                query("findBookDTOsByAuthorIdAfter", repository -> repository.findBookDTOsByAuthorIdAfter(42L, 0L, Limit.of(20))),
+                query("findBookDTOsByGenreAfter", repository -> repository.findBookDTOsByGenreAfter(BookGenre.SCIENCE, 1000L, Limit.of(20))),
+                query("findAvailableBookDTOsAfter", repository -> repository.findAvailableBookDTOsAfter(1000L, Limit.of(20))),
+                query("reserveCopies", repository -> repository.reserveCopies(42L, 1)),
+                query("releaseCopies", repository -> repository.releaseCopies(42L, 1)),
+                query("bulkDeleteByIds", repository -> repository.bulkDeleteByIds(List.of(42L))),
+                query("bulkDeleteByAuthorId", repository -> repository.bulkDeleteByAuthorId(42L)),
+                query("bulkDeleteByPublisherId", repository -> repository.bulkDeleteByPublisherId(42L))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("selectiveQueries")
+    @DisplayName("Selective queries never scan the whole book table")
+    void shouldNotScanBookTable(String name, Consumer<BookRepository> query) {
+        // Given
+        RecordingStatementInspector.clear();
+
+        // When
+        TransactionTemplate transaction = new TransactionTemplate(this.transactionManager);
+        transaction.executeWithoutResult(status -> {
+            query.accept(this.bookRepository);
+            // Writes only need to produce SQL, never to change the seeded data
+            status.setRollbackOnly();
+        });
+
+        // Then: only this thread's SQL, background jobs record elsewhere
+        List<String> statements = RecordingStatementInspector.statements();
+        RecordingStatementInspector.clear();
+        assertFalse(statements.isEmpty(), name + " ran no SQL");
+        for (String sql : statements) {
+            String plan = String.join("\n", this.jdbcTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + positional(sql), String.class));
+            assertFalse(BOOK_SEQ_SCAN.matcher(plan).find(), () -> name + " scans the book table:\n" + sql + "\n" + plan);
+        }
+    }
+
+    private static Arguments query(String name, Consumer<BookRepository> query) {
+        return Arguments.of(name, query);
+    }
+
+    // JDBC ? placeholders become $1, $2, ... which EXPLAIN (GENERIC_PLAN) accepts unbound
+    private static String positional(String sql) {
+        Matcher matcher = PLACEHOLDER.matcher(sql);
+        StringBuilder result = new StringBuilder();
+        int index = 0;
+        while (matcher.find()) {
+            matcher.appendReplacement(result, "\\$" + ++index);
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+}
@@ -0,0 +1,31 @@
+package dev.iraelie.testing.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Remembers the SQL Hibernate sends, so tests can inspect what a repository method really ran.
+ * Registered by class name, hence the static state. Statements are kept per thread, so scheduled
+ * jobs running in the same context (genre-stats reconcile, hot-stock flush) never leak into the
+ * test's recording.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+
+    public static void clear() {
+        STATEMENTS.remove();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+}
@@ -0,0 +1,125 @@
+package dev.iraelie.testing.search;
+
+import dev.iraelie.testing.dtos.BookDTO;
+import dev.iraelie.testing.dtos.BookSearchRequest;
+import dev.iraelie.testing.model.BookGenre;
+import dev.iraelie.testing.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("In-memory book search index tests")
+@ExtendWith(MockitoExtension.class)
+class InMemoryBookSearchIndexTest {
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InMemoryBookSearchIndex searchIndex;
+    private final BookSearchRequest noFilters = new BookSearchRequest();
+
+    @BeforeEach
+    void setup() {
+        this.searchIndex = new InMemoryBookSearchIndex(this.bookRepository, this.transactionManager);
+        this.searchIndex.index(book(1L, "Master System Design", "John Doe", BookGenre.SCIENCE, 2026, 49.9));
+        this.searchIndex.index(book(2L, "Designing Data-Intensive Applications", "Martin Kleppmann", BookGenre.SCIENCE, 2017, 39.9));
+        this.searchIndex.index(book(3L, "The Pragmatic Programmer", "David Thomas", BookGenre.SCIENCE, 1999, 29.9));
+        this.searchIndex.index(book(4L, "Martin Eden", "Jack London", BookGenre.FICTION, 1909, 9.9));
+    }
+
+    @Test
+    @DisplayName("Ranks title matches above author matches")
+    void shouldRankTitleMatchesFirst() {
+        // When
+        List<BookDTO> hits = this.searchIndex.search(List.of("martin"), false, this.noFilters, 0, 10);
+
+        // Then
+        assertEquals(List.of(4L, 2L), ids(hits));
+    }
+
+    @Test
+    @DisplayName("Requires every term to match")
+    void shouldMatchAllTerms() {
+        // When
+        List<BookDTO> hits = this.searchIndex.search(List.of("system", "doe"), false, this.noFilters, 0, 10);
+
+        // Then
+        assertEquals(List.of(1L), ids(hits));
+    }
+
+    @Test
+    @DisplayName("Matches the last term as a prefix for autocomplete")
+    void shouldMatchPrefix() {
+        // When
+        List<BookDTO> exact = this.searchIndex.search(List.of("desig"), false, this.noFilters, 0, 10);
+        List<BookDTO> prefix = this.searchIndex.search(List.of("desig"), true, this.noFilters, 0, 10);
+
+        // Then
+        assertTrue(exact.isEmpty());
+        assertEquals(List.of(1L, 2L), ids(prefix));
+    }
+
+    @Test
+    @DisplayName("Applies genre, year and price filters")
+    void shouldApplyFilters() {
+        // Given
+        BookSearchRequest filters = BookSearchRequest.builder()
+                .genre(BookGenre.SCIENCE)
+                .minYear(2000)
+                .maxPrice(45.0)
+                .build();
+
+        // When
+        List<BookDTO> hits = this.searchIndex.search(List.of(), false, filters, 0, 10);
+
+        // Then
+        assertEquals(List.of(2L), ids(hits));
+    }
+
+    @Test
+    @DisplayName("Reindexes updated books and forgets removed ones")
+    void shouldFollowUpdatesAndRemovals() {
+        // When
+        this.searchIndex.index(book(1L, "Master Distributed Systems", "John Doe", BookGenre.SCIENCE, 2026, 49.9));
+        this.searchIndex.remove(3L);
+
+        // Then
+        assertTrue(this.searchIndex.search(List.of("design"), false, this.noFilters, 0, 10).isEmpty());
+        assertEquals(List.of(1L), ids(this.searchIndex.search(List.of("distributed"), false, this.noFilters, 0, 10)));
+        assertTrue(this.searchIndex.search(List.of("pragmatic"), false, this.noFilters, 0, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Pages through results by offset")
+    void shouldPage() {
+        // When
+        List<BookDTO> page = this.searchIndex.search(List.of(), false, this.noFilters, 1, 2);
+
+        // Then
+        assertEquals(List.of(2L, 3L), ids(page));
+    }
+
+    private static BookDTO book(Long id, String title, String authorName, BookGenre genre, int year, double price) {
+        return BookDTO.builder()
+                .id(id)
+                .title(title)
+                .authorName(authorName)
+                .genre(genre)
+                .publicationYear(year)
+                .price(price)
+                .build();
+    }
+
+    private static List<Long> ids(List<BookDTO> books) {
+        return books.stream().map(BookDTO::id).toList();
+    }
+}
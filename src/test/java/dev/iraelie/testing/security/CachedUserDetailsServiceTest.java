@@ -0,0 +1,92 @@
+package dev.iraelie.testing.security;
+
+import dev.iraelie.testing.model.User;
+import dev.iraelie.testing.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Cached user details service tests")
+@ExtendWith(MockitoExtension.class)
+class CachedUserDetailsServiceTest {
+    private static final UUID USER_ID = UUID.fromString("01890a5d-ac96-774b-bcce-b302099a8057");
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private User user;
+
+    private CachedUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setup() {
+        this.userDetailsService = new CachedUserDetailsService(this.userRepository, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Loads a user once and serves later sign-ins from the cache, ignoring email case")
+    void shouldCachePrincipal() {
+        // Given
+        stubUser();
+        when(this.userRepository.findWithRolesByEmailIgnoreCase("jane@example.com")).thenReturn(Optional.of(this.user));
+
+        // When
+        UserDetails first = this.userDetailsService.loadUserByUsername("jane@example.com");
+        UserDetails second = this.userDetailsService.loadUserByUsername("Jane@Example.com");
+
+        // Then
+        assertSame(first, second);
+        assertSame(Authorities.of("ROLE_USER"), first.getAuthorities().iterator().next());
+        assertEquals("{noop}secret", first.getPassword());
+        verify(this.userRepository, times(1)).findWithRolesByEmailIgnoreCase("jane@example.com");
+    }
+
+    @Test
+    @DisplayName("Reloads a user after it was evicted by id")
+    void shouldReloadAfterEviction() {
+        // Given
+        stubUser();
+        when(this.userRepository.findWithRolesByEmailIgnoreCase("jane@example.com")).thenReturn(Optional.of(this.user));
+        this.userDetailsService.loadUserByUsername("jane@example.com");
+
+        // When
+        this.userDetailsService.evict(USER_ID);
+        this.userDetailsService.loadUserByUsername("jane@example.com");
+
+        // Then
+        verify(this.userRepository, times(2)).findWithRolesByEmailIgnoreCase("jane@example.com");
+    }
+
+    @Test
+    @DisplayName("Throws when no user has the email")
+    void shouldThrowWhenUserNotFound() {
+        // Given
+        when(this.userRepository.findWithRolesByEmailIgnoreCase("nobody@example.com")).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThrows(UsernameNotFoundException.class, () -> this.userDetailsService.loadUserByUsername("nobody@example.com"));
+    }
+
+    private void stubUser() {
+        when(this.user.getId()).thenReturn(USER_ID);
+        when(this.user.getUsername()).thenReturn("jane@example.com");
+        when(this.user.getPassword()).thenReturn("{noop}secret");
+        doReturn(List.of(Authorities.of("ROLE_USER"))).when(this.user).getAuthorities();
+        when(this.user.isEnabled()).thenReturn(true);
+        when(this.user.isAccountNonLocked()).thenReturn(true);
+        when(this.user.isCredentialsNonExpired()).thenReturn(true);
+    }
+}
@@ -0,0 +1,83 @@
+package dev.iraelie.testing.security;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JWT service tests")
+class JwtServiceTest {
+    private static final String SECRET_KEY = "uz1XVQwqqpoKgo4lfv+UwQxHi3PU/MQKRulNzy3u2QI=";
+    private static final String OTHER_SECRET_KEY = "3q2+7wABAgMEBQYHCAkKCwwNDg8QERITFBUWFxgZGhs=";
+
+    private JwtService jwtService;
+    private final UserDetails user = User.withUsername("jane@example.com")
+            .password("secret")
+            .authorities("ROLE_USER", "ROLE_ADMIN")
+            .build();
+
+    @BeforeEach
+    void setup() {
+        this.jwtService = new JwtService(SECRET_KEY, Duration.ofHours(1), 100);
+    }
+
+    @Test
+    @DisplayName("Verifies its own tokens and reads username and roles from the claims")
+    void shouldVerifyIssuedToken() {
+        // Given
+        String token = this.jwtService.generateToken(this.user);
+
+        // When
+        JwtService.VerifiedToken verified = this.jwtService.verify(token);
+
+        // Then
+        assertEquals("jane@example.com", verified.username());
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"),
+                verified.authorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    @DisplayName("Serves repeat tokens from the cache and shares authority instances")
+    void shouldCacheVerifiedTokens() {
+        // Given
+        String token = this.jwtService.generateToken(this.user);
+        String otherToken = new JwtService(SECRET_KEY, Duration.ofMinutes(30), 100).generateToken(this.user);
+
+        // When
+        JwtService.VerifiedToken first = this.jwtService.verify(token);
+        JwtService.VerifiedToken second = this.jwtService.verify(token);
+        JwtService.VerifiedToken other = this.jwtService.verify(otherToken);
+
+        // Then
+        assertSame(first, second);
+        assertSame(first.authorities().getFirst(), other.authorities().getFirst());
+    }
+
+    @Test
+    @DisplayName("Rejects tokens signed with another key")
+    void shouldRejectForgedToken() {
+        // Given
+        String forged = new JwtService(OTHER_SECRET_KEY, Duration.ofHours(1), 100).generateToken(this.user);
+
+        // When / Then
+        assertThrows(JwtException.class, () -> this.jwtService.verify(forged));
+    }
+
+    @Test
+    @DisplayName("Rejects expired tokens")
+    void shouldRejectExpiredToken() {
+        // Given
+        String expired = new JwtService(SECRET_KEY, Duration.ofMinutes(-1), 100).generateToken(this.user);
+
+        // When / Then
+        assertThrows(JwtException.class, () -> this.jwtService.verify(expired));
+    }
+}
@@ -0,0 +1,102 @@
+package dev.iraelie.testing.security;
+
+import dev.iraelie.testing.model.User;
+import dev.iraelie.testing.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Changes a user through JPA and checks that the next sign-in sees it: the cached principal must
+ * be dropped by the entity listener, not by the TTL.
+ */
+@DisplayName("User cache invalidation tests")
+@ActiveProfiles("test")
+@SpringBootTest
+class UserCacheInvalidatorTest {
+    private static final UUID USER_ID = UUID.fromString("01890a5d-ac96-774b-bcce-b302099a8057");
+    private static final String EMAIL = "jane@example.com";
+
+    @Autowired
+    private CachedUserDetailsService userDetailsService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setup() {
+        this.jdbcTemplate.update("""
+                INSERT INTO users (id, first_name, last_name, email, phone_number, password, is_enabled, created_date)
+                VALUES (?, 'Jane', 'Austen', ?, '+250780000000', '{noop}secret', TRUE, ?)
+                """, USER_ID, EMAIL, LocalDateTime.now());
+    }
+
+    @AfterEach
+    void cleanup() {
+        this.userDetailsService.evict(USER_ID);
+        this.jdbcTemplate.update("DELETE FROM users WHERE id = ?", USER_ID);
+    }
+
+    @Test
+    @DisplayName("Locking a user takes effect on the next sign-in")
+    void shouldEvictWhenUserIsLocked() {
+        // Given
+        assertTrue(this.userDetailsService.loadUserByUsername(EMAIL).isAccountNonLocked());
+
+        // When
+        updateUser("locked", true);
+
+        // Then
+        assertFalse(this.userDetailsService.loadUserByUsername(EMAIL).isAccountNonLocked());
+    }
+
+    @Test
+    @DisplayName("Disabling a user takes effect on the next sign-in")
+    void shouldEvictWhenUserIsDisabled() {
+        // Given
+        assertTrue(this.userDetailsService.loadUserByUsername(EMAIL).isEnabled());
+
+        // When
+        updateUser("enabled", false);
+
+        // Then
+        assertFalse(this.userDetailsService.loadUserByUsername(EMAIL).isEnabled());
+    }
+
+    @Test
+    @DisplayName("A password change takes effect on the next sign-in")
+    void shouldEvictWhenPasswordChanges() {
+        // Given
+        assertEquals("{noop}secret", this.userDetailsService.loadUserByUsername(EMAIL).getPassword());
+
+        // When
+        updateUser("password", "{noop}changed");
+
+        // Then
+        assertEquals("{noop}changed", this.userDetailsService.loadUserByUsername(EMAIL).getPassword());
+    }
+
+    // User has no setters; the field is changed on the managed entity so Hibernate issues a real UPDATE
+    private void updateUser(String field, Object value) {
+        new TransactionTemplate(this.transactionManager).executeWithoutResult(status -> {
+            User user = this.userRepository.findById(USER_ID).orElseThrow();
+            ReflectionTestUtils.setField(user, field, value);
+        });
+    }
+}
@@ -0,0 +1,96 @@
+package dev.iraelie.testing.service;
+
+import dev.iraelie.testing.dtos.BookDTO;
+import dev.iraelie.testing.model.BookGenre;
+import dev.iraelie.testing.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Book export service tests")
+@ExtendWith(MockitoExtension.class)
+class BookExportServiceTest {
+    @Mock
+    private BookRepository bookRepository;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private BookExportService exportService;
+    private BookDTO first;
+    private BookDTO second;
+
+    @BeforeEach
+    void setup() {
+        this.exportService = new BookExportService(this.bookRepository, this.jsonMapper);
+        this.first = new BookDTO(1L, "Master System design", "5155172381", 2026, 200, 49.9,
+                BookGenre.SCIENCE, "John Doe", "Amazon");
+        this.second = new BookDTO(2L, "Effective Java", "9780134685991", 2018, 0, 39.9,
+                BookGenre.SCIENCE, "Joshua Bloch", null);
+    }
+
+    @Test
+    @DisplayName("Writes one JSON object per line")
+    void shouldWriteNdjson() throws Exception {
+        // Given
+        when(this.bookRepository.streamAllBookDTOs())
+                .thenReturn(Stream.of(this.first, this.second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long count = this.exportService.exportNdjson(out, false);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("\n"));
+        assertEquals(this.first, this.jsonMapper.readValue(lines[0], BookDTO.class));
+        assertEquals(this.second, this.jsonMapper.readValue(lines[1], BookDTO.class));
+    }
+
+    @Test
+    @DisplayName("Compresses the stream with gzip when asked")
+    void shouldGzip() throws Exception {
+        // Given
+        when(this.bookRepository.streamAllBookDTOs())
+                .thenReturn(Stream.of(this.first));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        this.exportService.exportNdjson(out, true);
+
+        // Then
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(this.first, this.jsonMapper.readValue(content.trim(), BookDTO.class));
+        }
+    }
+
+    @Test
+    @DisplayName("Writes nothing for an empty catalog")
+    void shouldWriteNothingForEmptyCatalog() throws Exception {
+        // Given
+        when(this.bookRepository.streamAllBookDTOs())
+                .thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long count = this.exportService.exportNdjson(out, false);
+
+        // Then
+        assertEquals(0, count);
+        assertEquals(0, out.size());
+    }
+}
@@ -0,0 +1,157 @@
+package dev.iraelie.testing.service;
+
+import dev.iraelie.testing.exception.BusinessException;
+import dev.iraelie.testing.model.Author;
+import dev.iraelie.testing.model.Book;
+import dev.iraelie.testing.model.BookGenre;
+import dev.iraelie.testing.model.Publisher;
+import dev.iraelie.testing.repository.AuthorRepository;
+import dev.iraelie.testing.repository.BookRepository;
+import dev.iraelie.testing.repository.PublisherRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Book inventory contention tests")
+@ActiveProfiles("test")
+@SpringBootTest
+class BookInventoryConcurrencyTest {
+    private static final int INITIAL_COPIES = 500;
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS_PER_THREAD = 50;
+
+    @Autowired
+    private BookService bookService;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private PublisherRepository publisherRepository;
+
+    private Long bookId;
+
+    @BeforeEach
+    void setup() {
+        Author author = this.authorRepository.save(Author.builder()
+                .firstName("Jane")
+                .lastName("Austen")
+                .email("jane@example.com")
+                .country("England")
+                .build());
+        Publisher publisher = this.publisherRepository.save(Publisher.builder()
+                .name("Penguin")
+                .build());
+        this.bookId = this.bookRepository.save(Book.builder()
+                .title("Pride and Prejudice")
+                .isbn("9780141439518")
+                .publicationYear(1813)
+                .availableCopies(INITIAL_COPIES)
+                .price(9.99)
+                .genre(BookGenre.FICTION)
+                .author(author)
+                .publisher(publisher)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void cleanup() {
+        this.bookRepository.deleteAll();
+        this.authorRepository.deleteAll();
+        this.publisherRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Concurrent reservations never oversell the available copies")
+    void shouldNeverOversellUnderContention() throws Exception {
+        assertReservationsUnderContention();
+    }
+
+    @Test
+    @DisplayName("Hot-mode reservations never oversell and are written back on unmark")
+    void shouldNeverOversellInHotMode() throws Exception {
+        this.bookService.markHot(this.bookId);
+        try {
+            assertReservationsUnderContention();
+        } finally {
+            this.bookService.unmarkHot(this.bookId);
+        }
+        assertEquals(0, this.bookRepository.findById(this.bookId).orElseThrow().getAvailableCopies());
+    }
+
+    @Test
+    @DisplayName("Reservations racing hot-mode switches never oversell or drive stock negative")
+    void shouldNeverOversellWhileSwitchingHotMode() throws Exception {
+        // Given
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread toggler = Thread.ofPlatform().start(() -> {
+            while (running.get()) {
+                this.bookService.markHot(this.bookId);
+                Thread.onSpinWait();
+                this.bookService.unmarkHot(this.bookId);
+            }
+        });
+
+        // When / Then
+        try {
+            assertReservationsUnderContention();
+        } finally {
+            running.set(false);
+            toggler.join();
+            this.bookService.unmarkHot(this.bookId);
+        }
+        assertEquals(0, this.bookRepository.findById(this.bookId).orElseThrow().getAvailableCopies());
+    }
+
+    private void assertReservationsUnderContention() throws Exception {
+        // Given
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                        try {
+                            this.bookService.reserveCopies(this.bookId, 1);
+                            reserved.incrementAndGet();
+                        } catch (BusinessException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+
+        // Then
+        assertEquals(INITIAL_COPIES, reserved.get());
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD - INITIAL_COPIES, rejected.get());
+        if (!this.bookService.isHot(this.bookId)) {
+            assertEquals(0, this.bookRepository.findById(this.bookId).orElseThrow().getAvailableCopies());
+        }
+    }
+}
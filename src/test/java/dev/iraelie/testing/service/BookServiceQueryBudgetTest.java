@@ -0,0 +1,184 @@
+package dev.iraelie.testing.service;
+
+import dev.iraelie.testing.dtos.AuthorDTO;
+import dev.iraelie.testing.dtos.BookBatchDTO;
+import dev.iraelie.testing.dtos.BookDTO;
+import dev.iraelie.testing.dtos.CreateBookRequest;
+import dev.iraelie.testing.model.Author;
+import dev.iraelie.testing.model.Book;
+import dev.iraelie.testing.model.BookGenre;
+import dev.iraelie.testing.model.Publisher;
+import dev.iraelie.testing.repository.AuthorRepository;
+import dev.iraelie.testing.repository.BookRepository;
+import dev.iraelie.testing.repository.PublisherRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static dev.iraelie.testing.metrics.StatementBudget.assertAtMost;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Performance contracts for {@link BookService}: how many SQL statements each operation may
+ * issue. Every author has several books here, so a per-row lazy load of author or publisher
+ * pushes the count over budget instead of passing unnoticed.
+ */
+@DisplayName("Book service query budget tests")
+@ActiveProfiles("test")
+@SpringBootTest
+class BookServiceQueryBudgetTest {
+    private static final int BOOKS_PER_AUTHOR = 5;
+
+    @Autowired
+    private BookService bookService;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private PublisherRepository publisherRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Author author;
+    private Publisher publisher;
+    private final List<Long> bookIds = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        this.author = this.authorRepository.save(Author.builder()
+                .firstName("Jane")
+                .lastName("Austen")
+                .email("jane@example.com")
+                .country("England")
+                .build());
+        this.publisher = this.publisherRepository.save(Publisher.builder()
+                .name("Penguin")
+                .build());
+        this.bookIds.clear();
+        for (int i = 0; i < BOOKS_PER_AUTHOR; i++) {
+            this.bookIds.add(this.bookRepository.save(Book.builder()
+                    .title("Novel " + i)
+                    .isbn("978014143951" + i)
+                    .publicationYear(1811 + i)
+                    .availableCopies(10)
+                    .price(9.99)
+                    .genre(BookGenre.FICTION)
+                    .author(this.author)
+                    .publisher(this.publisher)
+                    .build()).getId());
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        this.bookRepository.deleteAll();
+        this.authorRepository.deleteAll();
+        this.publisherRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("getBookById loads the book, author and publisher at most once each")
+    void getBookByIdShouldStayWithinBudget() {
+        // Given
+        Long id = this.bookIds.getFirst();
+        TransactionTemplate transaction = new TransactionTemplate(this.transactionManager);
+        transaction.setReadOnly(true);
+
+        // When
+        BookDTO book = assertAtMost(3, () -> transaction.execute(status -> this.bookService.getBookById(id)));
+
+        // Then
+        assertEquals("Jane Austen", book.authorName());
+        assertEquals("Penguin", book.publisherName());
+    }
+
+    @Test
+    @DisplayName("getBooksByAuthor issues one query whatever the number of books")
+    void getBooksByAuthorShouldStayWithinBudget() {
+        // When
+        List<BookDTO> books = assertAtMost(1, () -> this.bookService.getBooksByAuthor(this.author.getId()));
+
+        // Then
+        assertEquals(BOOKS_PER_AUTHOR, books.size());
+    }
+
+    @Test
+    @DisplayName("A keyset page of an author's books is one query")
+    void getBooksByAuthorPageShouldStayWithinBudget() {
+        // When
+        Window<BookDTO> page = assertAtMost(1,
+                () -> this.bookService.getBooksByAuthor(this.author.getId(), ScrollPosition.keyset(), 3));
+
+        // Then
+        assertEquals(3, page.size());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    @DisplayName("getAuthorWithBooks counts the books in the same query")
+    void getAuthorWithBooksShouldStayWithinBudget() {
+        // When
+        AuthorDTO author = assertAtMost(1, () -> this.bookService.getAuthorWithBooks(this.author.getId()));
+
+        // Then
+        assertEquals(BOOKS_PER_AUTHOR, author.totalBooks());
+    }
+
+    @Test
+    @DisplayName("getBooksByIds issues one query per chunk of ids")
+    void getBooksByIdsShouldStayWithinBudget() {
+        // When
+        BookBatchDTO batch = assertAtMost(1, () -> this.bookService.getBooksByIds(this.bookIds));
+
+        // Then
+        assertEquals(BOOKS_PER_AUTHOR, batch.books().size());
+        assertTrue(batch.missingIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("deleteBook reads the key and deletes with one statement")
+    void deleteBookShouldStayWithinBudget() {
+        // Given
+        Long id = this.bookIds.getFirst();
+
+        // When
+        assertAtMost(2, () -> this.bookService.deleteBook(id));
+
+        // Then
+        assertFalse(this.bookRepository.existsById(id));
+    }
+
+    @Test
+    @DisplayName("createBook stays within its budget including the search index refresh")
+    void createBookShouldStayWithinBudget() {
+        // Given
+        CreateBookRequest request = CreateBookRequest.builder()
+                .title("Persuasion")
+                .isbn("9780141439686")
+                .publicationYear(1817)
+                .availableCopies(3)
+                .price(8.99)
+                .genre(BookGenre.FICTION)
+                .authorId(this.author.getId())
+                .publisherId(this.publisher.getId())
+                .build();
+
+        // When: ISBN check, author, publisher, sequence, insert, and the index reload after commit
+        Long id = assertAtMost(6, () -> this.bookService.createBook(request));
+
+        // Then
+        assertTrue(this.bookRepository.existsById(id));
+    }
+}
@@ -1,27 +1,54 @@
 package dev.iraelie.testing.service;
 
+import dev.iraelie.testing.cache.IsbnBloomFilter;
+import dev.iraelie.testing.cache.MissingIdCache;
 import dev.iraelie.testing.dtos.AuthorDTO;
+import dev.iraelie.testing.dtos.BookBatchDTO;
 import dev.iraelie.testing.dtos.BookDTO;
 import dev.iraelie.testing.dtos.CreateBookRequest;
 import dev.iraelie.testing.dtos.UpdateBookRequest;
+import dev.iraelie.testing.event.AuthorDeletedEvent;
+import dev.iraelie.testing.event.BookCreatedEvent;
+import dev.iraelie.testing.event.BookDeletedEvent;
+import dev.iraelie.testing.event.BookUpdatedEvent;
+import dev.iraelie.testing.event.BooksDeletedEvent;
+import dev.iraelie.testing.event.GenreStatsChangedEvent;
+import dev.iraelie.testing.exception.BusinessException;
 import dev.iraelie.testing.exception.DuplicateResourceException;
+import dev.iraelie.testing.exception.ErrorCode;
 import dev.iraelie.testing.exception.ResourceNotFoundException;
+import dev.iraelie.testing.inventory.HotStockRegistry;
 import dev.iraelie.testing.mapper.BookMapper;
 import dev.iraelie.testing.model.Author;
 import dev.iraelie.testing.model.Book;
 import dev.iraelie.testing.model.BookGenre;
 import dev.iraelie.testing.model.Publisher;
 import dev.iraelie.testing.repository.AuthorRepository;
+import dev.iraelie.testing.repository.BookKey;
 import dev.iraelie.testing.repository.BookRepository;
 import dev.iraelie.testing.repository.PublisherRepository;
+import dev.iraelie.testing.stats.GenreStatsView;
+import dev.iraelie.testing.stats.GenreTotals;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -37,6 +64,18 @@ class BookServiceTest {
     private PublisherRepository publisherRepository;
     @Mock
     private BookMapper bookMapper;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private IsbnBloomFilter isbnFilter;
+    @Mock
+    private HotStockRegistry hotStockRegistry;
+    @Mock
+    private GenreStatsView genreStatsView;
+    @Mock
+    private MissingIdCache missingIdCache;
+    @Mock
+    private TransactionTemplate transactionTemplate;
 
     @InjectMocks
     private BookService bookService;
@@ -120,6 +159,12 @@ class BookServiceTest {
                 .build();
     }
 
+    // The mocked template runs the callback in place, as a real transaction would
+    private void runTransactionsInline() {
+        when(this.transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+    }
+
     @Nested
     @DisplayName("Create Book validation tests")
     class CreateBookValidationTests {
@@ -128,8 +173,10 @@ class BookServiceTest {
         void validateIsbnDoesAlreadyExist() {
             // Given
             CreateBookRequest request = BookServiceTest.this.createBookRequest;
-            when(BookServiceTest.this.bookRepository.findByIsbn(request.getIsbn()))
-                    .thenReturn(Optional.of(BookServiceTest.this.book));
+            when(BookServiceTest.this.isbnFilter.mightContain(request.getIsbn()))
+                    .thenReturn(true);
+            when(BookServiceTest.this.bookRepository.existsByIsbn(request.getIsbn()))
+                    .thenReturn(true);
             // When
             DuplicateResourceException exception = assertThrows(
                     DuplicateResourceException.class,
@@ -138,7 +185,7 @@ class BookServiceTest {
             // Then
             assertEquals("Book with ISBN " + request.getIsbn() + " already exists", exception.getMessage());
 
-            verify(BookServiceTest.this.bookRepository, times(1)).findByIsbn(request.getIsbn());
+            verify(BookServiceTest.this.bookRepository, times(1)).existsByIsbn(request.getIsbn());
             verifyNoInteractions(BookServiceTest.this.authorRepository);
             verifyNoInteractions(BookServiceTest.this.publisherRepository);
             verifyNoInteractions(BookServiceTest.this.bookMapper);
@@ -149,8 +196,8 @@ class BookServiceTest {
         void validateIfAuthorExists() {
             // Given
             CreateBookRequest request = BookServiceTest.this.createBookRequest;
-            when(bookRepository.findByIsbn(request.getIsbn()))
-                    .thenReturn(Optional.empty());
+            when(isbnFilter.mightContain(request.getIsbn()))
+                    .thenReturn(false);
 
             when(BookServiceTest.this.authorRepository.findById(request.getAuthorId()))
                     .thenReturn(Optional.empty());
@@ -163,7 +210,7 @@ class BookServiceTest {
 
             // Then
             assertEquals("Author not found with id: " + request.getAuthorId(), exception.getMessage());
-            verify(BookServiceTest.this.bookRepository, times(1)).findByIsbn(request.getIsbn());
+            verify(BookServiceTest.this.bookRepository, never()).existsByIsbn(request.getIsbn());
             verify(BookServiceTest.this.authorRepository, times(1)).findById(request.getAuthorId());
             verifyNoInteractions(BookServiceTest.this.publisherRepository);
             verifyNoInteractions(BookServiceTest.this.bookMapper);
@@ -174,8 +221,8 @@ class BookServiceTest {
         void validateIfPublisherExists() {
             // Given
             CreateBookRequest request = BookServiceTest.this.createBookRequest;
-            when(bookRepository.findByIsbn(request.getIsbn()))
-                    .thenReturn(Optional.empty());
+            when(isbnFilter.mightContain(request.getIsbn()))
+                    .thenReturn(false);
 
             when(authorRepository.findById(request.getAuthorId()))
                     .thenReturn(Optional.of(author));
@@ -191,7 +238,7 @@ class BookServiceTest {
 
             // Then
             assertEquals("Publisher not found with id: " + request.getPublisherId(), exception.getMessage());
-            verify(BookServiceTest.this.bookRepository, times(1)).findByIsbn(request.getIsbn());
+            verify(BookServiceTest.this.bookRepository, never()).existsByIsbn(request.getIsbn());
             verify(BookServiceTest.this.authorRepository, times(1)).findById(request.getAuthorId());
             verify(BookServiceTest.this.publisherRepository, times(1)).findById(request.getPublisherId());
             verifyNoInteractions(BookServiceTest.this.bookMapper);
@@ -202,15 +249,17 @@ class BookServiceTest {
         void shouldCreateBookSuccessfully() {
             // Given
             CreateBookRequest request = BookServiceTest.this.createBookRequest;
-            when(BookServiceTest.this.bookRepository.findByIsbn(request.getIsbn()))
-                    .thenReturn(Optional.empty());
+            when(BookServiceTest.this.isbnFilter.mightContain(request.getIsbn()))
+                    .thenReturn(true);
+            when(BookServiceTest.this.bookRepository.existsByIsbn(request.getIsbn()))
+                    .thenReturn(false);
             when(BookServiceTest.this.authorRepository.findById(request.getAuthorId()))
                     .thenReturn(Optional.of(BookServiceTest.this.author));
             when(BookServiceTest.this.publisherRepository.findById(request.getPublisherId()))
                     .thenReturn(Optional.of(BookServiceTest.this.publisher));
             when(BookServiceTest.this.bookMapper.toBook(request))
                     .thenReturn(BookServiceTest.this.book);
-            when(BookServiceTest.this.bookRepository.save(any(Book.class)))
+            when(BookServiceTest.this.bookRepository.saveAndFlush(any(Book.class)))
                     .thenReturn(BookServiceTest.this.book);
 
             // When
@@ -219,19 +268,110 @@ class BookServiceTest {
             // Then
             assertNotNull(result);
             assertEquals(1L, result);
-            verify(BookServiceTest.this.bookRepository, times(1)).findByIsbn(request.getIsbn());
+            verify(BookServiceTest.this.bookRepository, times(1)).existsByIsbn(request.getIsbn());
             verify(BookServiceTest.this.authorRepository, times(1)).findById(request.getAuthorId());
             verify(BookServiceTest.this.publisherRepository, times(1)).findById(request.getPublisherId());
             verify(BookServiceTest.this.bookMapper, times(1)).toBook(request);
-            verify(BookServiceTest.this.bookRepository, times(1)).save(any(Book.class));
+            verify(BookServiceTest.this.bookRepository, times(1)).saveAndFlush(any(Book.class));
 
             // Verify author and publisher were set
-            verify(BookServiceTest.this.bookRepository, times(1)).save(argThat(book ->
+            verify(BookServiceTest.this.bookRepository, times(1)).saveAndFlush(argThat(book ->
                     book.getAuthor() != null &&
                             book.getPublisher() != null &&
                             book.getAuthor().getId().equals(2L) &&
                             book.getPublisher().getId().equals(3L)
             ));
+            verify(BookServiceTest.this.eventPublisher, times(1)).publishEvent(new BookCreatedEvent(1L, 2L, "5155172381"));
+        }
+
+        @Test
+        @DisplayName("Maps a unique ISBN violation from the database to a duplicate")
+        void shouldMapUniqueConstraintViolationToDuplicate() {
+            // Given
+            CreateBookRequest request = BookServiceTest.this.createBookRequest;
+            when(BookServiceTest.this.authorRepository.findById(request.getAuthorId()))
+                    .thenReturn(Optional.of(BookServiceTest.this.author));
+            when(BookServiceTest.this.publisherRepository.findById(request.getPublisherId()))
+                    .thenReturn(Optional.of(BookServiceTest.this.publisher));
+            when(BookServiceTest.this.bookMapper.toBook(request))
+                    .thenReturn(BookServiceTest.this.book);
+            when(BookServiceTest.this.bookRepository.saveAndFlush(any(Book.class)))
+                    .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint \"uk_book_isbn\""));
+
+            // When
+            DuplicateResourceException exception = assertThrows(
+                    DuplicateResourceException.class,
+                    () -> BookServiceTest.this.bookService.createBook(request)
+            );
+
+            // Then
+            assertEquals("Book with ISBN " + request.getIsbn() + " already exists", exception.getMessage());
+            verify(BookServiceTest.this.bookRepository, never()).existsByIsbn(request.getIsbn());
+            verifyNoInteractions(BookServiceTest.this.eventPublisher);
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk import validation tests")
+    class CreateBooksValidationTests {
+        @Test
+        @DisplayName("Rejects an ISBN repeated inside the import")
+        void shouldRejectDuplicateIsbnInImport() {
+            // Given
+            CreateBookRequest request = BookServiceTest.this.createBookRequest;
+
+            // When
+            DuplicateResourceException exception = assertThrows(
+                    DuplicateResourceException.class,
+                    () -> BookServiceTest.this.bookService.createBooks(List.of(request, request))
+            );
+
+            // Then
+            assertEquals("Book with ISBN " + request.getIsbn() + " appears more than once in the import", exception.getMessage());
+            verifyNoInteractions(BookServiceTest.this.bookRepository);
+        }
+
+        @Test
+        @DisplayName("Rejects an ISBN already in the catalog with one IN query")
+        void shouldRejectExistingIsbn() {
+            // Given
+            CreateBookRequest request = BookServiceTest.this.createBookRequest;
+            when(BookServiceTest.this.bookRepository.findExistingIsbns(List.of(request.getIsbn())))
+                    .thenReturn(List.of(request.getIsbn()));
+
+            // When
+            DuplicateResourceException exception = assertThrows(
+                    DuplicateResourceException.class,
+                    () -> BookServiceTest.this.bookService.createBooks(List.of(request))
+            );
+
+            // Then
+            assertEquals("Book with ISBN " + request.getIsbn() + " already exists", exception.getMessage());
+            verifyNoInteractions(BookServiceTest.this.authorRepository);
+            verifyNoInteractions(BookServiceTest.this.publisherRepository);
+        }
+
+        @Test
+        @DisplayName("Rejects an unknown author before inserting anything")
+        void shouldRejectUnknownAuthor() {
+            // Given
+            CreateBookRequest request = BookServiceTest.this.createBookRequest;
+            when(BookServiceTest.this.bookRepository.findExistingIsbns(List.of(request.getIsbn())))
+                    .thenReturn(List.of());
+            when(BookServiceTest.this.authorRepository.findAllById(List.of(request.getAuthorId())))
+                    .thenReturn(List.of());
+            when(BookServiceTest.this.publisherRepository.findAllById(List.of(request.getPublisherId())))
+                    .thenReturn(List.of(BookServiceTest.this.publisher));
+
+            // When
+            ResourceNotFoundException exception = assertThrows(
+                    ResourceNotFoundException.class,
+                    () -> BookServiceTest.this.bookService.createBooks(List.of(request))
+            );
+
+            // Then
+            assertEquals("Author not found with id: " + request.getAuthorId(), exception.getMessage());
+            verifyNoInteractions(BookServiceTest.this.bookMapper);
         }
     }
 
@@ -253,8 +393,28 @@ class BookServiceTest {
             // Then
             assertEquals("Book not found with id: " + 1L, exception.getMessage());
             verify(BookServiceTest.this.bookRepository, times(1)).findById(bookId);
+            verify(BookServiceTest.this.missingIdCache, times(1)).markBookMissing(bookId);
             verifyNoInteractions(BookServiceTest.this.bookMapper);
         }
+
+        @Test
+        @DisplayName("Answers a recently missed id without a query")
+        void shouldAnswerRecentMissWithoutQuery() {
+            // Given
+            Long bookId = 404L;
+            when(BookServiceTest.this.missingIdCache.isBookMissing(bookId)).thenReturn(true);
+
+            // When
+            ResourceNotFoundException exception = assertThrows(
+                    ResourceNotFoundException.class,
+                    () -> BookServiceTest.this.bookService.getBookById(bookId)
+            );
+
+            // Then
+            assertEquals("Book not found with id: " + bookId, exception.getMessage());
+            verifyNoInteractions(BookServiceTest.this.bookRepository);
+            verify(BookServiceTest.this.missingIdCache, never()).markBookMissing(bookId);
+        }
     }
 
     @Nested
@@ -307,6 +467,26 @@ class BookServiceTest {
             verify(BookServiceTest.this.publisherRepository, times(1)).findById(request.getPublisherId());
             verifyNoInteractions(BookServiceTest.this.bookMapper);
         }
+
+        @Test
+        @DisplayName("Rejects a stock change while the title is hot")
+        void shouldRejectStockChangeOnHotTitle() {
+            // Given
+            Long bookId = 1L;
+            when(BookServiceTest.this.hotStockRegistry.isHot(bookId))
+                    .thenReturn(true);
+
+            // When
+            BusinessException exception = assertThrows(
+                    BusinessException.class,
+                    () -> BookServiceTest.this.bookService.updateBook(bookId, BookServiceTest.this.updateBookRequest)
+            );
+
+            // Then
+            assertEquals(ErrorCode.HOT_STOCK_LOCKED, exception.getErrorCode());
+            verifyNoInteractions(BookServiceTest.this.bookRepository);
+            verifyNoInteractions(BookServiceTest.this.eventPublisher);
+        }
     }
 
     @Nested
@@ -318,8 +498,8 @@ class BookServiceTest {
             // Given
             Long authorId = 1L;
 
-            when(BookServiceTest.this.authorRepository.findById(authorId))
-                    .thenReturn(Optional.empty());
+            when(BookServiceTest.this.bookRepository.findBookDTOsByAuthorId(authorId))
+                    .thenReturn(List.of());
 
             // When
             ResourceNotFoundException exception = assertThrows(
@@ -329,12 +509,111 @@ class BookServiceTest {
 
             // Then
             assertEquals("Author not found with id: " + authorId, exception.getMessage());
-            verify(BookServiceTest.this.authorRepository, times(1)).findById(authorId);
+            verify(BookServiceTest.this.bookRepository, times(1)).findBookDTOsByAuthorId(authorId);
+            verify(BookServiceTest.this.missingIdCache, times(1)).markAuthorMissing(authorId);
+            verifyNoInteractions(BookServiceTest.this.authorRepository);
+            verifyNoInteractions(BookServiceTest.this.bookMapper);
+        }
+
+        @Test
+        @DisplayName("Answers a recently missed author without a query")
+        void shouldAnswerRecentMissWithoutQuery() {
+            // Given
+            Long authorId = 404L;
+            when(BookServiceTest.this.missingIdCache.isAuthorMissing(authorId)).thenReturn(true);
+
+            // When / Then
+            assertThrows(ResourceNotFoundException.class,
+                    () -> BookServiceTest.this.bookService.getBooksByAuthor(authorId));
             verifyNoInteractions(BookServiceTest.this.bookRepository);
+        }
+
+        @Test
+        @DisplayName("Returns an empty list for an author without books")
+        void shouldReturnEmptyListForAuthorWithoutBooks() {
+            // Given
+            Long authorId = 2L;
+            BookDTO emptyRow = BookDTO.builder().build();
+
+            when(BookServiceTest.this.bookRepository.findBookDTOsByAuthorId(authorId))
+                    .thenReturn(List.of(emptyRow));
+
+            // When
+            List<BookDTO> books = BookServiceTest.this.bookService.getBooksByAuthor(authorId);
+
+            // Then
+            assertTrue(books.isEmpty());
+            verify(BookServiceTest.this.bookRepository, times(1)).findBookDTOsByAuthorId(authorId);
+            verifyNoInteractions(BookServiceTest.this.authorRepository);
+        }
+
+        @Test
+        @DisplayName("Returns the projected books of the author")
+        void shouldReturnProjectedBooks() {
+            // Given
+            Long authorId = 2L;
+
+            when(BookServiceTest.this.bookRepository.findBookDTOsByAuthorId(authorId))
+                    .thenReturn(List.of(BookServiceTest.this.bookDTO));
+
+            // When
+            List<BookDTO> books = BookServiceTest.this.bookService.getBooksByAuthor(authorId);
+
+            // Then
+            assertEquals(1, books.size());
+            assertEquals(BookServiceTest.this.bookDTO.id(), books.getFirst().id());
             verifyNoInteractions(BookServiceTest.this.bookMapper);
         }
     }
 
+    @Nested
+    @DisplayName("Keyset pagination tests")
+    class KeysetPaginationTests {
+        @Test
+        @DisplayName("Starts from the beginning and reports a next page")
+        void shouldReturnFirstWindowWithNextPage() {
+            // Given
+            BookDTO second = BookDTO.builder().id(2L).build();
+            when(BookServiceTest.this.bookRepository.findAvailableBookDTOsAfter(0L, Limit.of(2)))
+                    .thenReturn(List.of(BookServiceTest.this.bookDTO, second));
+
+            // When
+            Window<BookDTO> window = BookServiceTest.this.bookService.getAvailableBooks(ScrollPosition.keyset(), 1);
+
+            // Then
+            assertEquals(1, window.size());
+            assertTrue(window.hasNext());
+            assertEquals(ScrollPosition.forward(Map.of("id", 1L)), window.positionAt(0));
+        }
+
+        @Test
+        @DisplayName("Continues after the last seen id")
+        void shouldSeekAfterLastSeenId() {
+            // Given
+            when(BookServiceTest.this.bookRepository.findBookDTOsByGenreAfter(BookGenre.SCIENCE, 1L, Limit.of(11)))
+                    .thenReturn(List.of());
+
+            // When
+            Window<BookDTO> window = BookServiceTest.this.bookService.getBooksByGenre(
+                    BookGenre.SCIENCE, ScrollPosition.forward(Map.of("id", 1L)), 10);
+
+            // Then
+            assertTrue(window.isEmpty());
+            assertFalse(window.hasNext());
+        }
+
+        @Test
+        @DisplayName("Rejects backward and offset positions instead of restarting from the first page")
+        void shouldRejectNonForwardPositions() {
+            // When / Then
+            assertThrows(IllegalArgumentException.class,
+                    () -> BookServiceTest.this.bookService.getAvailableBooks(ScrollPosition.backward(Map.of("id", 5L)), 10));
+            assertThrows(IllegalArgumentException.class,
+                    () -> BookServiceTest.this.bookService.getAvailableBooks(ScrollPosition.offset(10), 10));
+            verifyNoInteractions(BookServiceTest.this.bookRepository);
+        }
+    }
+
     @Nested
     @DisplayName("Gets author with their book count tests")
     class GetAuthorWithBooksTests {
@@ -344,7 +623,7 @@ class BookServiceTest {
         void shouldThrowWhenAuthorDoesNotExist() {
             Long authorId = 1L;
 
-            when(BookServiceTest.this.authorRepository.findByIdWithBooks(authorId))
+            when(BookServiceTest.this.authorRepository.findAuthorDTOById(authorId))
                     .thenReturn(Optional.empty());
 
             // When
@@ -355,29 +634,163 @@ class BookServiceTest {
 
             // Then
             assertEquals("Author not found with id: " + authorId, exception.getMessage());
-            verify(BookServiceTest.this.authorRepository, times(1)).findByIdWithBooks(authorId);
+            verify(BookServiceTest.this.authorRepository, times(1)).findAuthorDTOById(authorId);
+            verify(BookServiceTest.this.missingIdCache, times(1)).markAuthorMissing(authorId);
             verifyNoInteractions(BookServiceTest.this.bookMapper);
         }
 
+        @Test
+        @DisplayName("Answers a recently missed author without a query")
+        void shouldAnswerRecentMissWithoutQuery() {
+            // Given
+            Long authorId = 404L;
+            when(BookServiceTest.this.missingIdCache.isAuthorMissing(authorId)).thenReturn(true);
+
+            // When / Then
+            assertThrows(ResourceNotFoundException.class,
+                    () -> BookServiceTest.this.bookService.getAuthorWithBooks(authorId));
+            verifyNoInteractions(BookServiceTest.this.authorRepository);
+        }
+
         @Test
         @DisplayName("Validate author book counts")
         void shouldReturnAuthorWithBookCount() {
             // Given
             Long authorId = 1L;
 
-            when(BookServiceTest.this.authorRepository.findByIdWithBooks(authorId))
-                    .thenReturn(Optional.of(BookServiceTest.this.author));
-
-            when(BookServiceTest.this.bookMapper.toAuthorDTO(BookServiceTest.this.author))
-                    .thenReturn(BookServiceTest.this.authorDTO);
+            when(BookServiceTest.this.authorRepository.findAuthorDTOById(authorId))
+                    .thenReturn(Optional.of(BookServiceTest.this.authorDTO));
 
             // When
             AuthorDTO authorBookCounts = BookServiceTest.this.bookService.getAuthorWithBooks(authorId);
 
             // Then
-            assertEquals(20, authorBookCounts.getTotalBooks());
-            verify(BookServiceTest.this.authorRepository, times(1)).findByIdWithBooks(authorId);
-            verify(BookServiceTest.this.bookMapper, times(1)).toAuthorDTO(author);
+            assertEquals(20, authorBookCounts.totalBooks());
+            verify(BookServiceTest.this.authorRepository, times(1)).findAuthorDTOById(authorId);
+            verify(BookServiceTest.this.authorRepository, never()).findByIdWithBooks(authorId);
+            verifyNoInteractions(BookServiceTest.this.bookMapper);
+        }
+    }
+
+    @Nested
+    @DisplayName("Reserve copies tests")
+    class ReserveCopiesTests {
+        @Test
+        @DisplayName("Reserves copies with a single conditional update")
+        void shouldReserveCopies() {
+            // Given
+            Long bookId = 1L;
+            runTransactionsInline();
+            when(BookServiceTest.this.hotStockRegistry.reserve(bookId, 2))
+                    .thenReturn(HotStockRegistry.Outcome.NOT_HOT);
+            when(BookServiceTest.this.bookRepository.reserveCopies(bookId, 2))
+                    .thenReturn(1);
+
+            // When
+            assertDoesNotThrow(() -> BookServiceTest.this.bookService.reserveCopies(bookId, 2));
+
+            // Then
+            verify(BookServiceTest.this.bookRepository, never()).existsById(bookId);
+            verify(BookServiceTest.this.eventPublisher, times(1)).publishEvent(new BookUpdatedEvent(bookId));
+        }
+
+        @Test
+        @DisplayName("Reports out of stock when the book exists but has too few copies")
+        void shouldThrowWhenOutOfStock() {
+            // Given
+            Long bookId = 1L;
+            runTransactionsInline();
+            when(BookServiceTest.this.hotStockRegistry.reserve(bookId, 500))
+                    .thenReturn(HotStockRegistry.Outcome.NOT_HOT);
+            when(BookServiceTest.this.bookRepository.reserveCopies(bookId, 500))
+                    .thenReturn(0);
+            when(BookServiceTest.this.bookRepository.existsById(bookId))
+                    .thenReturn(true);
+
+            // When
+            BusinessException exception = assertThrows(
+                    BusinessException.class,
+                    () -> BookServiceTest.this.bookService.reserveCopies(bookId, 500)
+            );
+
+            // Then
+            assertEquals(ErrorCode.BOOK_OUT_OF_STOCK, exception.getErrorCode());
+            verifyNoInteractions(BookServiceTest.this.eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Reports not found when the book does not exist")
+        void shouldThrowWhenBookDoesNotExist() {
+            // Given
+            Long bookId = 1L;
+            runTransactionsInline();
+            when(BookServiceTest.this.hotStockRegistry.reserve(bookId, 1))
+                    .thenReturn(HotStockRegistry.Outcome.NOT_HOT);
+            when(BookServiceTest.this.bookRepository.reserveCopies(bookId, 1))
+                    .thenReturn(0);
+            when(BookServiceTest.this.bookRepository.existsById(bookId))
+                    .thenReturn(false);
+
+            // When
+            ResourceNotFoundException exception = assertThrows(
+                    ResourceNotFoundException.class,
+                    () -> BookServiceTest.this.bookService.reserveCopies(bookId, 1)
+            );
+
+            // Then
+            assertEquals("Book not found with id: " + bookId, exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Undoes a database reservation when the title turned hot before the update")
+        void shouldMoveReservationToMemoryWhenMarkedHotConcurrently() {
+            // Given
+            Long bookId = 1L;
+            runTransactionsInline();
+            when(BookServiceTest.this.hotStockRegistry.reserve(bookId, 1))
+                    .thenReturn(HotStockRegistry.Outcome.NOT_HOT, HotStockRegistry.Outcome.RESERVED);
+            when(BookServiceTest.this.bookRepository.reserveCopies(bookId, 1))
+                    .thenReturn(1);
+            when(BookServiceTest.this.hotStockRegistry.isHot(bookId))
+                    .thenReturn(true);
+
+            // When
+            assertDoesNotThrow(() -> BookServiceTest.this.bookService.reserveCopies(bookId, 1));
+
+            // Then
+            verify(BookServiceTest.this.bookRepository, times(1)).releaseCopies(bookId, 1);
+            verify(BookServiceTest.this.hotStockRegistry, times(2)).reserve(bookId, 1);
+            verifyNoInteractions(BookServiceTest.this.eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Serves a hot title from memory without touching the database")
+        void shouldReserveHotTitleInMemory() {
+            // Given
+            Long bookId = 1L;
+            when(BookServiceTest.this.hotStockRegistry.reserve(bookId, 1))
+                    .thenReturn(HotStockRegistry.Outcome.RESERVED);
+
+            // When
+            assertDoesNotThrow(() -> BookServiceTest.this.bookService.reserveCopies(bookId, 1));
+
+            // Then
+            verifyNoInteractions(BookServiceTest.this.bookRepository);
+            verifyNoInteractions(BookServiceTest.this.transactionTemplate);
+        }
+
+        @Test
+        @DisplayName("Rejects a non-positive quantity")
+        void shouldRejectNonPositiveQuantity() {
+            // When
+            BusinessException exception = assertThrows(
+                    BusinessException.class,
+                    () -> BookServiceTest.this.bookService.reserveCopies(1L, 0)
+            );
+
+            // Then
+            assertEquals(ErrorCode.INVALID_QUANTITY, exception.getErrorCode());
+            verifyNoInteractions(BookServiceTest.this.bookRepository);
         }
     }
 
@@ -389,8 +802,8 @@ class BookServiceTest {
         void shouldThrowExceptionExistsIfBookNotExists() {
             // Given
             Long bookId = 1L;
-            when(BookServiceTest.this.bookRepository.existsById(bookId))
-                    .thenReturn(false);
+            when(BookServiceTest.this.bookRepository.findKeyById(bookId))
+                    .thenReturn(Optional.empty());
 
             // When
             ResourceNotFoundException exception = assertThrows(
@@ -400,8 +813,30 @@ class BookServiceTest {
 
             // Then
             assertEquals("Book not found with id: " + bookId, exception.getMessage());
-            verify(BookServiceTest.this.bookRepository, times(1)).existsById(bookId);
-            verify(BookServiceTest.this.bookRepository, never()).deleteById(bookId);
+            verify(BookServiceTest.this.bookRepository, times(1)).findKeyById(bookId);
+            verify(BookServiceTest.this.bookRepository, never()).bulkDeleteByIds(anyCollection());
+            verifyNoInteractions(BookServiceTest.this.eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should throw when the book is deleted concurrently")
+        void shouldThrowWhenNoRowWasDeleted() {
+            // Given
+            Long bookId = 1L;
+            when(BookServiceTest.this.bookRepository.findKeyById(bookId))
+                    .thenReturn(Optional.of(new BookKey(bookId, 2L, "5155172381", BookGenre.SCIENCE, 200, 49.9)));
+            when(BookServiceTest.this.bookRepository.bulkDeleteByIds(List.of(bookId)))
+                    .thenReturn(0);
+
+            // When
+            ResourceNotFoundException exception = assertThrows(
+                    ResourceNotFoundException.class,
+                    () -> BookServiceTest.this.bookService.deleteBook(bookId)
+            );
+
+            // Then
+            assertEquals("Book not found with id: " + bookId, exception.getMessage());
+            verifyNoInteractions(BookServiceTest.this.eventPublisher);
         }
 
         @Test
@@ -409,8 +844,10 @@ class BookServiceTest {
         void shouldDeleteTheBook() {
             // Given
             Long bookId = 1L;
-            when(BookServiceTest.this.bookRepository.existsById(bookId))
-                    .thenReturn(true);
+            when(BookServiceTest.this.bookRepository.findKeyById(bookId))
+                    .thenReturn(Optional.of(new BookKey(bookId, 2L, "5155172381", BookGenre.SCIENCE, 200, 49.9)));
+            when(BookServiceTest.this.bookRepository.bulkDeleteByIds(List.of(bookId)))
+                    .thenReturn(1);
 
             // When
             assertDoesNotThrow(
@@ -418,8 +855,154 @@ class BookServiceTest {
             );
 
             // Then
-            verify(BookServiceTest.this.bookRepository, times(1)).existsById(bookId);
-            verify(BookServiceTest.this.bookRepository, times(1)).deleteById(bookId);
+            verify(BookServiceTest.this.bookRepository, times(1)).bulkDeleteByIds(List.of(bookId));
+            verify(BookServiceTest.this.bookRepository, never()).findById(anyLong());
+            verify(BookServiceTest.this.eventPublisher, times(1)).publishEvent(new BookDeletedEvent(bookId, 2L, "5155172381"));
+            verify(BookServiceTest.this.eventPublisher, times(1)).publishEvent(
+                    new GenreStatsChangedEvent(List.of(new GenreTotals(BookGenre.SCIENCE, -1L, -200L, -49.9, -1L))));
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk delete tests")
+    class BulkDeleteTests {
+        @Test
+        @DisplayName("Should delete nothing when any id is missing")
+        void shouldThrowWhenAnyIdIsMissing() {
+            // Given
+            when(BookServiceTest.this.bookRepository.findKeysByIdIn(anyCollection()))
+                    .thenReturn(List.of(new BookKey(1L, 2L, "5155172381", BookGenre.SCIENCE, 200, 49.9)));
+
+            // When
+            ResourceNotFoundException exception = assertThrows(
+                    ResourceNotFoundException.class,
+                    () -> BookServiceTest.this.bookService.deleteBooks(List.of(1L, 9L))
+            );
+
+            // Then
+            assertEquals("Books not found with ids: [9]", exception.getMessage());
+            verify(BookServiceTest.this.bookRepository, never()).bulkDeleteByIds(anyCollection());
+            verifyNoInteractions(BookServiceTest.this.eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should delete all books with one statement")
+        void shouldDeleteAllBooks() {
+            // Given
+            when(BookServiceTest.this.bookRepository.findKeysByIdIn(anyCollection()))
+                    .thenReturn(List.of(new BookKey(1L, 2L, "5155172381", BookGenre.SCIENCE, 200, 49.9), new BookKey(4L, 2L, "9780134685991", BookGenre.SCIENCE, 200, 49.9)));
+            when(BookServiceTest.this.bookRepository.bulkDeleteByIds(List.of(1L, 4L)))
+                    .thenReturn(2);
+
+            // When
+            int deleted = BookServiceTest.this.bookService.deleteBooks(List.of(1L, 4L, 1L));
+
+            // Then
+            assertEquals(2, deleted);
+            verify(BookServiceTest.this.bookRepository, times(1)).bulkDeleteByIds(anyCollection());
+            verify(BookServiceTest.this.eventPublisher, times(1)).publishEvent(
+                    new BooksDeletedEvent(List.of(1L, 4L), Set.of(2L), List.of("5155172381", "9780134685991")));
+        }
+
+        @Test
+        @DisplayName("Should delete an author's books with one statement")
+        void shouldDeleteBooksByAuthor() {
+            // Given
+            when(BookServiceTest.this.bookRepository.findKeysByAuthorId(2L))
+                    .thenReturn(List.of(new BookKey(1L, 2L, "5155172381", BookGenre.SCIENCE, 200, 49.9)));
+            when(BookServiceTest.this.bookRepository.bulkDeleteByAuthorId(2L))
+                    .thenReturn(1);
+
+            // When
+            int deleted = BookServiceTest.this.bookService.deleteBooksByAuthor(2L);
+
+            // Then
+            assertEquals(1, deleted);
+            verify(BookServiceTest.this.eventPublisher, times(1)).publishEvent(
+                    new BooksDeletedEvent(List.of(1L), Set.of(2L), List.of("5155172381")));
+        }
+
+        @Test
+        @DisplayName("Should throw when the author does not exist")
+        void shouldThrowWhenAuthorNotExists() {
+            // Given
+            when(BookServiceTest.this.bookRepository.findKeysByAuthorId(2L))
+                    .thenReturn(List.of());
+            when(BookServiceTest.this.authorRepository.bulkDeleteById(2L))
+                    .thenReturn(0);
+
+            // When
+            ResourceNotFoundException exception = assertThrows(
+                    ResourceNotFoundException.class,
+                    () -> BookServiceTest.this.bookService.deleteAuthor(2L)
+            );
+
+            // Then
+            assertEquals("Author not found with id: 2", exception.getMessage());
+            verifyNoInteractions(BookServiceTest.this.eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should delete the author after their books")
+        void shouldDeleteAuthorAndBooks() {
+            // Given
+            when(BookServiceTest.this.bookRepository.findKeysByAuthorId(2L))
+                    .thenReturn(List.of(new BookKey(1L, 2L, "5155172381", BookGenre.SCIENCE, 200, 49.9)));
+            when(BookServiceTest.this.bookRepository.bulkDeleteByAuthorId(2L))
+                    .thenReturn(1);
+            when(BookServiceTest.this.authorRepository.bulkDeleteById(2L))
+                    .thenReturn(1);
+
+            // When
+            BookServiceTest.this.bookService.deleteAuthor(2L);
+
+            // Then
+            InOrder inOrder = inOrder(BookServiceTest.this.bookRepository, BookServiceTest.this.authorRepository);
+            inOrder.verify(BookServiceTest.this.bookRepository).bulkDeleteByAuthorId(2L);
+            inOrder.verify(BookServiceTest.this.authorRepository).bulkDeleteById(2L);
+            verify(BookServiceTest.this.eventPublisher, times(1)).publishEvent(new AuthorDeletedEvent(2L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Get books by ids tests")
+    class GetBooksByIdsTests {
+        @Test
+        @DisplayName("Should return books in request order and report missing ids")
+        void shouldReturnBooksInRequestOrder() {
+            // Given
+            BookDTO other = BookDTO.builder().id(4L).title("Effective Java").build();
+            when(BookServiceTest.this.bookRepository.findBookDTOsByIdIn(List.of(4L, 9L, 1L)))
+                    .thenReturn(List.of(BookServiceTest.this.bookDTO, other));
+
+            // When
+            BookBatchDTO result = BookServiceTest.this.bookService.getBooksByIds(List.of(4L, 9L, 1L, 4L));
+
+            // Then
+            assertEquals(List.of(other, BookServiceTest.this.bookDTO), result.books());
+            assertEquals(List.of(9L), result.missingIds());
+            verify(BookServiceTest.this.bookRepository, times(1)).findBookDTOsByIdIn(anyCollection());
+            verifyNoInteractions(BookServiceTest.this.bookMapper);
+        }
+
+        @Test
+        @DisplayName("Should split very large id lists into chunks")
+        void shouldChunkLargeIdLists() {
+            // Given
+            List<Long> ids = new ArrayList<>();
+            for (long id = 1; id <= 2500; id++) {
+                ids.add(id);
+            }
+            when(BookServiceTest.this.bookRepository.findBookDTOsByIdIn(anyCollection()))
+                    .thenReturn(List.of());
+
+            // When
+            BookBatchDTO result = BookServiceTest.this.bookService.getBooksByIds(ids);
+
+            // Then
+            assertTrue(result.books().isEmpty());
+            assertEquals(ids, result.missingIds());
+            verify(BookServiceTest.this.bookRepository, times(3)).findBookDTOsByIdIn(anyCollection());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,113 @@
+package dev.iraelie.testing.stats;
+
+import dev.iraelie.testing.dtos.GenreStatsDTO;
+import dev.iraelie.testing.model.BookGenre;
+import dev.iraelie.testing.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Genre statistics view tests")
+@ExtendWith(MockitoExtension.class)
+class GenreStatsViewTest {
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private GenreStatsView statsView;
+
+    @BeforeEach
+    void setup() {
+        this.statsView = new GenreStatsView(this.bookRepository, this.transactionManager);
+        when(this.bookRepository.findGenreTotals())
+                .thenReturn(List.of(new GenreTotals(BookGenre.SCIENCE, 2L, 30L, 60.0, 2L)));
+        this.statsView.reconcile();
+    }
+
+    @Test
+    @DisplayName("Serves the totals loaded by the GROUP BY")
+    void shouldServeReconciledTotals() {
+        assertEquals(List.of(new GenreStatsDTO(BookGenre.SCIENCE, 2L, 30L, 30.0)), this.statsView.snapshot());
+    }
+
+    @Test
+    @DisplayName("Applies create, update and delete deltas")
+    void shouldApplyDeltas() {
+        // When
+        this.statsView.onGenreStatsChanged(new GenreDeltas()
+                .added(BookGenre.SCIENCE, 10, 90.0)
+                .added(BookGenre.FICTION, 5, null)
+                .toEvent());
+        this.statsView.onGenreStatsChanged(new GenreDeltas()
+                .removed(BookGenre.SCIENCE, 10, 90.0)
+                .added(BookGenre.SCIENCE, 4, 30.0)
+                .toEvent());
+
+        // Then
+        assertEquals(List.of(
+                new GenreStatsDTO(BookGenre.FICTION, 1L, 5L, null),
+                new GenreStatsDTO(BookGenre.SCIENCE, 3L, 34L, 30.0)
+        ), this.statsView.snapshot());
+    }
+
+    @Test
+    @DisplayName("Drops a genre once its last book is deleted")
+    void shouldDropEmptyGenres() {
+        // When
+        this.statsView.onGenreStatsChanged(new GenreDeltas()
+                .removed(BookGenre.SCIENCE, 10, 20.0)
+                .removed(BookGenre.SCIENCE, 20, 40.0)
+                .toEvent());
+
+        // Then
+        assertTrue(this.statsView.snapshot().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Reconciliation replaces drifted totals")
+    void shouldReconcile() {
+        // Given
+        this.statsView.onGenreStatsChanged(new GenreDeltas().added(BookGenre.HISTORY, 1, 1.0).toEvent());
+        when(this.bookRepository.findGenreTotals())
+                .thenReturn(List.of(new GenreTotals(BookGenre.SCIENCE, 1L, 7L, 10.0, 1L)));
+
+        // When
+        this.statsView.reconcile();
+
+        // Then
+        assertEquals(List.of(new GenreStatsDTO(BookGenre.SCIENCE, 1L, 7L, 10.0)), this.statsView.snapshot());
+    }
+
+    @Test
+    @DisplayName("Drops a delta whose transaction commits after a reload already counted it")
+    void shouldDropDeltaPublishedBeforeReload() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            this.statsView.onGenreStatsChanged(new GenreDeltas().added(BookGenre.SCIENCE, 10, 90.0).toEvent());
+            when(this.bookRepository.findGenreTotals())
+                    .thenReturn(List.of(new GenreTotals(BookGenre.SCIENCE, 3L, 40L, 150.0, 3L)));
+            this.statsView.reconcile();
+
+            // When
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertEquals(List.of(new GenreStatsDTO(BookGenre.SCIENCE, 3L, 40L, 50.0)), this.statsView.snapshot());
+    }
+}